@@ -0,0 +1,65 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+// A list that only grows. Appends are serialized on the list; readers never lock. The size is
+// published after the element is in place, so any prefix a reader sees is complete, and
+// snapshot() hands out that prefix as a fixed, read-only view in O(1) however long the list is.
+public class AppendOnlyList<T> {
+    private volatile Object[] items;
+    private volatile int size;
+
+    public AppendOnlyList() {
+        this(16);
+    }
+
+    public AppendOnlyList(int capacity) {
+        items = new Object[Math.max(capacity, 1)];
+    }
+
+    public synchronized void add(T item) {
+        Object[] a = items;
+        if (size == a.length) {
+            a = Arrays.copyOf(a, a.length * 2);
+            items = a;
+        }
+        a[size] = item;
+        size = size + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Reads size before the array: a newer array holds every element of an older one.
+    public List<T> snapshot() {
+        int n = size;
+        return new Snapshot<>(items, n);
+    }
+
+    private static class Snapshot<T> extends AbstractList<T> implements RandomAccess {
+        private final Object[] items;
+        private final int size;
+
+        Snapshot(Object[] items, int size) {
+            this.items = items;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T get(int i) {
+            if (i < 0 || i >= size)
+                throw new IndexOutOfBoundsException("Index " + i + ", size " + size);
+            return (T) items[i];
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Writers are serialized so a session and a submission booked into it at the same moment cannot
+// both miss each other; lookups never lock and read the per-evaluator lists as snapshots.
+public class AssignmentIndex {
+    private final SubmissionIndex submissions;
+    private final Map<String, String> evaluatorBySession = new ConcurrentHashMap<>();
+    private final Map<String, AppendOnlyList<Submission>> submissionsByEvaluator = new ConcurrentHashMap<>();
+
+    public AssignmentIndex(SubmissionIndex submissions) {
+        this.submissions = submissions;
+    }
+
+    public synchronized void rebuild(Collection<Session> sessions, Collection<Submission> allSubmissions) {
+        evaluatorBySession.clear();
+        submissionsByEvaluator.clear();
+        for (Session s : sessions)
+            evaluatorBySession.putIfAbsent(s.id(), s.evaluator());
+        for (Submission sub : allSubmissions)
+            addSubmission(sub);
+    }
+
+    public synchronized void addSession(Session s) {
+        if (evaluatorBySession.putIfAbsent(s.id(), s.evaluator()) != null)
+            return;
+        Collection<Submission> booked = submissions.bySession(s.id());
+        if (booked.isEmpty())
+            return;
+        AppendOnlyList<Submission> assigned = listOf(s.evaluator());
+        for (Submission sub : booked)
+            assigned.add(sub);
+    }
+
+    public synchronized void addSubmission(Submission sub) {
+        String evaluator = evaluatorBySession.get(sub.sessionId());
+        if (evaluator != null)
+            listOf(evaluator).add(sub);
+    }
+
+    public String evaluatorOf(String sessionId) {
+        return evaluatorBySession.get(sessionId);
+    }
+
+    // A submission belongs to one session and so to at most one evaluator.
+    public boolean isAssigned(String evaluator, Submission sub) {
+        return evaluator != null && evaluator.equals(evaluatorBySession.get(sub.sessionId()));
+    }
+
+    public Collection<Submission> assignedTo(String evaluator) {
+        AppendOnlyList<Submission> subs = submissionsByEvaluator.get(evaluator);
+        return subs == null ? Collections.emptyList() : subs.snapshot();
+    }
+
+    private AppendOnlyList<Submission> listOf(String evaluator) {
+        return submissionsByEvaluator.computeIfAbsent(evaluator, k -> new AppendOnlyList<>());
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Books every pending submission made without a session into a session of its own. plan() walks
+// the 20-minute grid of each day's hours from the first day on and, at each start time, pairs the
+// waiting submissions in submission order with the venues and evaluators that are free then: a
+// venue or evaluator is free when neither the store nor the plan so far has a session within the
+// conflict window. Among the free evaluators the one with the fewest sessions goes first, so the
+// load evens out. Each start time costs one window lookup per venue and per evaluator, which keeps
+// thousands of submissions to well under a second.
+//
+// Nothing is written until commit(), which holds the stripes of every submission, venue and
+// evaluator in the plan and checks each booking again, since the store may have moved on while
+// the coordinator looked at the preview. Bookings that no longer fit are left out and reported.
+public class AutoScheduler {
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+    private static final int MAX_DAYS = 366;
+    private static final int SLOT_MINUTES = (int) (ScheduleIndex.WINDOW_MILLIS / 60000);
+
+    public static class Booking {
+        public final Submission submission;
+        public final long start;
+        public final String venue;
+        public final String evaluator;
+
+        Booking(Submission submission, long start, String venue, String evaluator) {
+            this.submission = submission;
+            this.start = start;
+            this.venue = venue;
+            this.evaluator = evaluator;
+        }
+    }
+
+    public static class Plan {
+        public final List<Booking> bookings;
+        // Submissions left waiting because MAX_DAYS of slots ran out.
+        public final int unplaced;
+
+        Plan(List<Booking> bookings, int unplaced) {
+            this.bookings = Collections.unmodifiableList(bookings);
+            this.unplaced = unplaced;
+        }
+    }
+
+    public static class Report {
+        public final int scheduled;
+        // "presenter - title: reason" for each booking commit() left out.
+        public final List<String> skipped;
+
+        Report(int scheduled, List<String> skipped) {
+            this.scheduled = scheduled;
+            this.skipped = Collections.unmodifiableList(skipped);
+        }
+    }
+
+    private final SeminarStore store;
+
+    AutoScheduler(SeminarStore store) {
+        this.store = store;
+    }
+
+    // firstDay is the local midnight of the first day; sessions start from fromMinute to before
+    // toMinute, counted from midnight.
+    public Plan plan(long firstDay, int fromMinute, int toMinute) throws ServiceException {
+        if (fromMinute < 0 || toMinute > 24 * 60 || fromMinute + SLOT_MINUTES > toMinute)
+            throw new ServiceException(ServiceException.BAD_REQUEST,
+                    "Error: The day must leave room for at least one 20-minute session!");
+        List<String> evaluators = new ArrayList<>();
+        for (User u : store.users().values()) {
+            if (u.role() == Role.EVALUATOR)
+                evaluators.add(u.username());
+        }
+        if (evaluators.isEmpty())
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Error: There are no evaluators to assign!");
+
+        Map<String, Integer> load = new HashMap<>();
+        for (String e : evaluators)
+            load.put(e, 0);
+        for (Session s : store.sessions())
+            load.computeIfPresent(s.evaluator(), (k, n) -> n + 1);
+
+        List<Submission> waiting = store.unscheduled();
+        List<Booking> bookings = new ArrayList<>(waiting.size());
+        ScheduleIndex planned = new ScheduleIndex();
+        long now = System.currentTimeMillis();
+        int next = 0;
+        for (int day = 0; day < MAX_DAYS && next < waiting.size(); day++) {
+            for (int minute = fromMinute; minute + SLOT_MINUTES <= toMinute && next < waiting.size();
+                    minute += SLOT_MINUTES) {
+                long start = firstDay + day * DAY_MILLIS + minute * 60000L;
+                if (start < now)
+                    continue;
+                List<String> venues = new ArrayList<>();
+                for (String v : SeminarService.VENUES) {
+                    if (isFree(store.conflicts(start, v, ""), planned.conflicts(start, v, "")))
+                        venues.add(v);
+                }
+                List<String> free = new ArrayList<>();
+                for (String e : evaluators) {
+                    if (isFree(store.conflicts(start, "", e), planned.conflicts(start, "", e)))
+                        free.add(e);
+                }
+                free.sort((a, b) -> load.get(a) - load.get(b));
+                for (int i = 0; i < venues.size() && i < free.size() && next < waiting.size(); i++) {
+                    Submission sub = waiting.get(next++);
+                    String evaluator = free.get(i);
+                    Booking b = new Booking(sub, start, venues.get(i), evaluator);
+                    bookings.add(b);
+                    planned.add(new Session("", start, b.venue, sub.type(), SessionStatus.SCHEDULED, evaluator));
+                    load.merge(evaluator, 1, Integer::sum);
+                }
+            }
+        }
+        return new Plan(bookings, waiting.size() - next);
+    }
+
+    @SuppressWarnings("try")
+    public Report commit(Plan plan) {
+        List<String> skipped = new ArrayList<>();
+        List<Session> sessions = new ArrayList<>();
+        List<Submission> presenters = new ArrayList<>();
+        try (StripedLock.Held held = store.lock(lockKeys(plan))) {
+            Set<Submission> booked = new HashSet<>();
+            ScheduleIndex added = new ScheduleIndex();
+            long now = System.currentTimeMillis();
+            for (Booking b : plan.bookings) {
+                Submission sub = b.submission;
+                String reason = null;
+                if (sub.isScheduled() || !booked.add(sub))
+                    reason = "already scheduled";
+                else if (b.start < now)
+                    reason = "the slot has passed";
+                else if (!store.conflicts(b.start, b.venue, b.evaluator).isEmpty()
+                        || !added.conflicts(b.start, b.venue, b.evaluator).isEmpty())
+                    reason = "the slot was booked in the meantime";
+                if (reason != null) {
+                    skipped.add(sub.presenter() + " - " + sub.title() + ": " + reason);
+                    continue;
+                }
+                Session session = new Session(store.nextSessionId(), b.start, b.venue, sub.type(),
+                        SessionStatus.SCHEDULED, b.evaluator);
+                added.add(session);
+                sessions.add(session);
+                presenters.add(sub);
+            }
+            store.schedule(sessions, presenters);
+        }
+        return new Report(sessions.size(), skipped);
+    }
+
+    private static boolean isFree(List<ScheduleIndex.Conflict> stored, List<ScheduleIndex.Conflict> planned) {
+        return stored.isEmpty() && planned.isEmpty();
+    }
+
+    private static String[] lockKeys(Plan plan) {
+        List<String> keys = new ArrayList<>();
+        for (Booking b : plan.bookings) {
+            keys.add(SubmissionIndex.key(b.submission.presenter(), b.submission.title()));
+            keys.add(SeminarService.venueLock(b.venue));
+            keys.add(SeminarService.userLock(b.evaluator));
+        }
+        return keys.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,237 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Single writer thread for the journal and snapshot. Callers only enqueue; every flush drains the
+// whole queue, so a burst of changes costs one journal write, and any queued work that precedes a
+// newer checkpoint is dropped because the snapshot already contains it.
+public class BackgroundPersistence {
+    public static final String SAVING = "Saving...";
+    public static final String SAVED = "All changes saved";
+
+    private static class Checkpoint {
+        final List<User> users;
+        final List<Submission> submissions;
+        final Submission.Grade[] grades;
+        final String[] bookings;
+        final List<Session> sessions;
+
+        Checkpoint(List<User> users, List<Submission> submissions, Submission.Grade[] grades, String[] bookings,
+                List<Session> sessions) {
+            this.users = users;
+            this.submissions = submissions;
+            this.grades = grades;
+            this.bookings = bookings;
+            this.sessions = sessions;
+        }
+    }
+
+    // A new submission whose cold fields were detached before it was recorded: by the time it is
+    // journaled they are in the cold file, so the entry carries their offset instead.
+    private static class SubmissionEntry extends ChangeJournal.Entry {
+        final Submission sub;
+
+        SubmissionEntry(Submission sub, String[] fields) {
+            super(ChangeJournal.ADD_SUBMISSION, fields);
+            this.sub = sub;
+        }
+    }
+
+    private final ChangeJournal journal;
+    private final ColdFieldStore coldFields;
+    private final Path dataFile;
+    private final Consumer<String> status;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "seminar-persistence");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final List<Object> pending = new ArrayList<>();
+    private boolean flushScheduled;
+    private int recordsSinceCheckpoint;
+    private long generation;
+
+    public BackgroundPersistence(ChangeJournal journal, ColdFieldStore coldFields, Path dataFile, long generation,
+            Consumer<String> status) {
+        this.journal = journal;
+        this.coldFields = coldFields;
+        this.dataFile = dataFile;
+        this.generation = generation;
+        this.status = status;
+        this.recordsSinceCheckpoint = journal.size();
+    }
+
+    public synchronized void record(byte op, String... fields) {
+        pending.add(new ChangeJournal.Entry(op, fields.clone()));
+        recordsSinceCheckpoint++;
+        schedule();
+    }
+
+    // fields is sub.toFields() from before ColdFieldStore.detach(sub).
+    public static ChangeJournal.Entry submissionEntry(Submission sub, String[] fields) {
+        return new SubmissionEntry(sub, fields);
+    }
+
+    // Queues a batch as one unit: it reaches the journal in a single append.
+    public synchronized void recordAll(List<ChangeJournal.Entry> entries) {
+        pending.addAll(entries);
+        recordsSinceCheckpoint += entries.size();
+        schedule();
+    }
+
+    public synchronized int recordsSinceCheckpoint() {
+        return recordsSinceCheckpoint;
+    }
+
+    // Grades and session bookings are read on the calling thread, as they change after the snapshot
+    // is taken; everything else about a submission is fixed, and the lists are the store's fixed
+    // snapshots, so they are kept as they are.
+    public void checkpoint(Collection<User> users, List<Submission> submissions, List<Session> sessions) {
+        Submission.Grade[] grades = new Submission.Grade[submissions.size()];
+        String[] bookings = new String[grades.length];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = submissions.get(i).grade();
+            bookings[i] = submissions.get(i).sessionId();
+        }
+        Checkpoint cp = new Checkpoint(new ArrayList<>(users), submissions, grades, bookings, sessions);
+        synchronized (this) {
+            pending.add(cp);
+            recordsSinceCheckpoint = 0;
+            schedule();
+        }
+    }
+
+    public void close() throws IOException, InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        boolean retry;
+        synchronized (this) {
+            retry = !pending.isEmpty();
+        }
+        if (retry)
+            flush();
+        journal.close();
+        coldFields.close();
+    }
+
+    private void schedule() {
+        if (!flushScheduled && !executor.isShutdown()) {
+            flushScheduled = true;
+            status.accept(SAVING);
+            executor.execute(this::flush);
+        }
+    }
+
+    @SuppressWarnings("try")
+    private void flush() {
+        List<Object> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+
+        int last = -1;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.get(i) instanceof Checkpoint)
+                last = i;
+        }
+        int done = Math.max(last, 0);
+        try {
+            coldFields.flush();
+            if (last >= 0) {
+                try (Metrics.Timing t = Metrics.SHARED.time(Metrics.SAVE)) {
+                    writeCheckpoint((Checkpoint) batch.get(last));
+                }
+                done = last + 1;
+            }
+            List<ChangeJournal.Entry> entries = new ArrayList<>();
+            for (int i = done; i < batch.size(); i++)
+                entries.add(journaled((ChangeJournal.Entry) batch.get(i)));
+            if (!entries.isEmpty()) {
+                try (Metrics.Timing t = Metrics.SHARED.time(Metrics.JOURNAL_APPEND)) {
+                    journal.append(entries);
+                }
+            }
+            done = batch.size();
+
+            synchronized (this) {
+                if (!flushScheduled)
+                    status.accept(SAVED);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            synchronized (this) {
+                pending.addAll(0, batch.subList(done, batch.size()));
+            }
+            status.accept("Save failed: " + e.getMessage());
+        }
+    }
+
+    // Runs after coldFields.flush(), so a detached submission has its offset.
+    private ChangeJournal.Entry journaled(ChangeJournal.Entry entry) {
+        if (!(entry instanceof SubmissionEntry))
+            return entry;
+        long ref = coldFields.refOf(((SubmissionEntry) entry).sub);
+        if (ref < 0)
+            return entry;
+        String[] fields = Arrays.copyOf(entry.fields, ColdFieldStore.JOURNAL_REF + 1);
+        Arrays.fill(fields, ColdFieldStore.FIRST, ColdFieldStore.FIRST + ColdFieldStore.COUNT, null);
+        fields[ColdFieldStore.JOURNAL_REF] = Long.toString(ref);
+        return new ChangeJournal.Entry(entry.op, fields);
+    }
+
+    private void writeCheckpoint(Checkpoint cp) throws IOException {
+        Path tmp = dataFile.resolveSibling(dataFile.getFileName() + ".tmp");
+        long next = generation + 1;
+        List<String[]> users = new AbstractList<String[]>() {
+            public String[] get(int i) {
+                return cp.users.get(i).toFields();
+            }
+
+            public int size() {
+                return cp.users.size();
+            }
+        };
+        List<String[]> submissions = new AbstractList<String[]>() {
+            public String[] get(int i) {
+                Submission sub = cp.submissions.get(i);
+                String[] fields = sub.toFields(cp.grades[i], cp.bookings[i]);
+                String[] stored = Arrays.copyOf(fields, ColdFieldStore.FIRST + 2);
+                long ref = coldFields.refOf(sub);
+                stored[ColdFieldStore.FIRST] = ref < 0 ? null : Long.toString(ref);
+                stored[ColdFieldStore.FIRST + 1] = fields[Submission.RUBRIC_FIELD];
+                return stored;
+            }
+
+            public int size() {
+                return cp.grades.length;
+            }
+        };
+        List<String[]> sessions = new AbstractList<String[]>() {
+            public String[] get(int i) {
+                return cp.sessions.get(i).toFields();
+            }
+
+            public int size() {
+                return cp.sessions.size();
+            }
+        };
+        SeminarDataFile.write(tmp, next, users, submissions, sessions);
+        Files.move(tmp, dataFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        coldFields.checkpointed(next);
+        generation = next;
+        journal.reset(next);
+    }
+}
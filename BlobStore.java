@@ -0,0 +1,189 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+// Presentation files copied into the data directory and named by the SHA-256 of their content,
+// under files/<first two hex digits>/<hash>. A submission stores the reference
+// "sha256:<hash>/<original name>" in place of the path the student picked, so the file survives
+// being moved on the student's machine and the API can serve it to evaluators elsewhere; the same
+// deck submitted twice is stored once.
+//
+// Nothing passes through the heap. A local file is hashed through one direct buffer and, when the
+// store lacks it, copied with FileChannel.transferTo, then hashed again from the copy, so a source
+// changed mid-copy is caught before it is published under the wrong name. An upload is hashed as
+// it streams into a temporary file. Blobs appear by an atomic rename, so a reader never sees a
+// partial file, and concurrent ingests of the same content simply rename over each other.
+public class BlobStore {
+    public static final String REF_PREFIX = "sha256:";
+    private static final int CHUNK = 256 * 1024;
+    private static final int HASH_CHARS = 64;
+    private static final String TEMP_DIR = "tmp";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path root;
+
+    // Partial copies left by a crash are removed.
+    public BlobStore(Path root) throws IOException {
+        this.root = root;
+        Path temp = root.resolve(TEMP_DIR);
+        Files.createDirectories(temp);
+        try (DirectoryStream<Path> partial = Files.newDirectoryStream(temp)) {
+            for (Path p : partial)
+                Files.deleteIfExists(p);
+        }
+    }
+
+    public static boolean isRef(String file) {
+        return file != null && file.startsWith(REF_PREFIX) && file.length() > REF_PREFIX.length() + HASH_CHARS
+                && file.charAt(REF_PREFIX.length() + HASH_CHARS) == '/';
+    }
+
+    // The file name the student uploaded, or the value itself if it is not a reference.
+    public static String nameOf(String file) {
+        return isRef(file) ? file.substring(REF_PREFIX.length() + HASH_CHARS + 1) : file;
+    }
+
+    // The content hash a reference names, or null if it is not a reference.
+    public static String hashOf(String file) {
+        return isRef(file) ? file.substring(REF_PREFIX.length(), REF_PREFIX.length() + HASH_CHARS) : null;
+    }
+
+    // Copies a local file in; returns its reference.
+    public String ingest(Path source) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = in.size();
+            ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK);
+            String hash = hash(in, size, buf);
+            String ref = ref(hash, source.getFileName().toString());
+            Path blob = blobPath(hash);
+            if (Files.exists(blob) && Files.size(blob) == size)
+                return ref;
+            Path temp = tempFile();
+            try {
+                try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    long pos = 0;
+                    while (pos < size) {
+                        long n = in.transferTo(pos, size - pos, out);
+                        if (n <= 0)
+                            break;
+                        pos += n;
+                    }
+                    out.force(false);
+                    if (out.size() != size || !hash.equals(hash(out, size, buf)))
+                        throw new IOException(source + " changed while it was being copied");
+                }
+                publish(temp, blob);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return ref;
+        }
+    }
+
+    // Streams an upload in, hashing as it goes. Throws IllegalArgumentException once more than
+    // maxBytes arrive; nothing is kept in that case.
+    public String ingest(InputStream upload, String name, long maxBytes) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK);
+        Path temp = tempFile();
+        try {
+            try (ReadableByteChannel in = Channels.newChannel(upload);
+                    FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.WRITE)) {
+                long size = 0;
+                while (in.read(buf) >= 0) {
+                    buf.flip();
+                    size += buf.remaining();
+                    if (size > maxBytes)
+                        throw new IllegalArgumentException("File is larger than " + maxBytes + " bytes");
+                    digest.update(buf.duplicate());
+                    while (buf.hasRemaining())
+                        out.write(buf);
+                    buf.clear();
+                }
+                out.force(false);
+            }
+            String hash = hex(digest.digest());
+            publish(temp, blobPath(hash));
+            return ref(hash, name);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // The stored blob for a reference, or null if the reference is malformed or its blob missing.
+    public Path path(String ref) {
+        String hash = hashOf(ref);
+        if (hash == null)
+            return null;
+        for (int i = 0; i < hash.length(); i++) {
+            if (Character.digit(hash.charAt(i), 16) < 0)
+                return null;
+        }
+        Path blob = blobPath(hash);
+        return Files.isRegularFile(blob) ? blob : null;
+    }
+
+    private Path blobPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path tempFile() {
+        return root.resolve(TEMP_DIR).resolve(UUID.randomUUID() + ".part");
+    }
+
+    private static void publish(Path temp, Path blob) throws IOException {
+        Files.createDirectories(blob.getParent());
+        Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Only the last path element of the name is kept, so a reference never names a directory.
+    private static String ref(String hash, String name) {
+        String base = name == null ? "" : name.substring(Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\')) + 1);
+        return REF_PREFIX + hash + "/" + (base.isBlank() ? "file" : base.trim());
+    }
+
+    private static String hash(FileChannel channel, long size, ByteBuffer buf) throws IOException {
+        MessageDigest digest = sha256();
+        long pos = 0;
+        while (pos < size) {
+            buf.clear();
+            int n = channel.read(buf, pos);
+            if (n < 0)
+                break;
+            pos += n;
+            buf.flip();
+            digest.update(buf);
+        }
+        return hex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,256 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Bulk CSV import of users, sessions or submissions, one kind per file, told apart by the header:
+//
+//   username,password,role
+//   date,venue,type,evaluator                      (date as "yyyy-MM-dd HH:mm")
+//   presenter,title,type,session,abstract,supervisor,file    (session "TBD" leaves it to the
+//                                                            coordinator's auto scheduler)
+//
+// parse() streams the file in chunks and runs each chunk's field checks in parallel: blank
+// fields, roles, venues and types, unparseable or past dates, unknown evaluators, presenters and
+// sessions. commit() then holds the stripes of everything the batch touches and checks the
+// surviving rows in file order against the store and against each other (duplicate usernames
+// and titles, taken sessions, schedule conflicts) before the store adds them in one batch.
+// Rows that fail are left out and reported by line number; the rest are imported.
+public class BulkImport {
+    public static final String USERS = "Users";
+    public static final String SESSIONS = "Sessions";
+    public static final String SUBMISSIONS = "Submissions";
+
+    private static final String[] USER_COLUMNS = { "username", "password", "role" };
+    private static final String[] SESSION_COLUMNS = { "date", "venue", "type", "evaluator" };
+    private static final String[] SUBMISSION_COLUMNS = { "presenter", "title", "type", "session", "abstract",
+            "supervisor", "file" };
+    private static final int CHUNK = 4096;
+
+    private static class Row {
+        final int line;
+        final String[] fields;
+        long start;
+        String error;
+
+        Row(int line, String[] fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+    }
+
+    // Rows that passed the field checks, plus the errors of those that did not.
+    public static class Batch {
+        public final String kind;
+        private final List<Row> rows = new ArrayList<>();
+        private final Map<Integer, String> errors = new TreeMap<>();
+        private int total;
+
+        Batch(String kind) {
+            this.kind = kind;
+        }
+
+        public int rows() {
+            return total;
+        }
+    }
+
+    public static class Report {
+        public final String kind;
+        public final int rows;
+        public final int imported;
+        // Error message by the line its row starts on, in file order.
+        public final Map<Integer, String> errors;
+
+        Report(String kind, int rows, int imported, Map<Integer, String> errors) {
+            this.kind = kind;
+            this.rows = rows;
+            this.imported = imported;
+            this.errors = Collections.unmodifiableMap(errors);
+        }
+    }
+
+    private final SeminarService service;
+    private final SeminarStore store;
+
+    BulkImport(SeminarService service, SeminarStore store) {
+        this.service = service;
+        this.store = store;
+    }
+
+    public Batch parse(Reader csv) throws IOException, ServiceException {
+        try (CsvReader in = new CsvReader(csv)) {
+            String[] header = in.next();
+            if (header == null)
+                throw new ServiceException(ServiceException.BAD_REQUEST, "The file is empty.");
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.length; i++)
+                columns.putIfAbsent(header[i].trim().toLowerCase(Locale.ROOT), i);
+
+            Batch batch;
+            String[] required;
+            if (columns.containsKey("username")) {
+                batch = new Batch(USERS);
+                required = USER_COLUMNS;
+            } else if (columns.containsKey("presenter")) {
+                batch = new Batch(SUBMISSIONS);
+                required = SUBMISSION_COLUMNS;
+            } else if (columns.containsKey("venue")) {
+                batch = new Batch(SESSIONS);
+                required = SESSION_COLUMNS;
+            } else {
+                throw new ServiceException(ServiceException.BAD_REQUEST, "Unrecognised header. Expected one of:\n"
+                        + String.join(",", USER_COLUMNS) + "\n" + String.join(",", SESSION_COLUMNS) + "\n"
+                        + String.join(",", SUBMISSION_COLUMNS));
+            }
+            int[] index = new int[required.length];
+            List<String> missing = new ArrayList<>();
+            for (int i = 0; i < required.length; i++) {
+                Integer column = columns.get(required[i]);
+                if (column == null)
+                    missing.add(required[i]);
+                index[i] = column == null ? -1 : column;
+            }
+            if (!missing.isEmpty())
+                throw new ServiceException(ServiceException.BAD_REQUEST,
+                        batch.kind + " file is missing column(s): " + String.join(", ", missing));
+
+            List<Row> chunk = new ArrayList<>(CHUNK);
+            String[] record;
+            while ((record = in.next()) != null) {
+                String[] fields = new String[required.length];
+                for (int i = 0; i < required.length; i++)
+                    fields[i] = index[i] < record.length ? record[index[i]].trim() : "";
+                chunk.add(new Row(in.recordLine(), fields));
+                if (chunk.size() == CHUNK) {
+                    check(batch, chunk);
+                    chunk = new ArrayList<>(CHUNK);
+                }
+            }
+            check(batch, chunk);
+            return batch;
+        }
+    }
+
+    @SuppressWarnings("try")
+    public Report commit(Batch batch) {
+        Map<Integer, String> errors = new TreeMap<>(batch.errors);
+        List<User> users = new ArrayList<>();
+        List<Session> sessions = new ArrayList<>();
+        List<Submission> submissions = new ArrayList<>();
+        try (StripedLock.Held held = store.lock(lockKeys(batch))) {
+            switch (batch.kind) {
+                case USERS:
+                    Set<String> usernames = new HashSet<>();
+                    for (Row row : batch.rows) {
+                        String[] f = row.fields;
+                        if (store.user(f[0]) != null || !usernames.add(f[0]))
+                            errors.put(row.line, "Username already exists!");
+                        else
+                            users.add(new User(f[0], f[1], Role.of(f[2])));
+                    }
+                    break;
+                case SESSIONS:
+                    ScheduleIndex added = new ScheduleIndex();
+                    for (Row row : batch.rows) {
+                        String[] f = row.fields;
+                        List<ScheduleIndex.Conflict> conflicts = new ArrayList<>(
+                                store.conflicts(row.start, f[1], f[3]));
+                        conflicts.addAll(added.conflicts(row.start, f[1], f[3]));
+                        if (!conflicts.isEmpty()) {
+                            errors.put(row.line, SeminarService.conflictMessage(conflicts, f[1], f[3]));
+                            continue;
+                        }
+                        Session session = new Session(store.nextSessionId(), row.start, f[1],
+                                PresentationType.of(f[2]), SessionStatus.SCHEDULED, store.username(f[3]));
+                        added.add(session);
+                        sessions.add(session);
+                    }
+                    break;
+                default:
+                    Set<String> keys = new HashSet<>();
+                    Set<String> taken = new HashSet<>();
+                    for (Row row : batch.rows) {
+                        String[] f = row.fields;
+                        if (store.findSubmission(f[0], f[1]) != null || !keys.add(SubmissionIndex.key(f[0], f[1])))
+                            errors.put(row.line, "You have already submitted \"" + f[1] + "\".");
+                        else if (!Submission.NO_SESSION.equals(f[3])
+                                && (!store.submissionsIn(f[3]).isEmpty() || !taken.add(f[3])))
+                            errors.put(row.line, "Session " + f[3] + " is already taken.");
+                        else
+                            submissions.add(SeminarService.newSubmission(store.username(f[0]), f[1], f[2], f[3], f[4],
+                                    f[5], f[6]));
+                    }
+                    break;
+            }
+            store.importBatch(users, sessions, submissions);
+        }
+        return new Report(batch.kind, batch.total, users.size() + sessions.size() + submissions.size(), errors);
+    }
+
+    private void check(Batch batch, List<Row> chunk) {
+        chunk.parallelStream().forEach(row -> {
+            try {
+                checkFields(batch.kind, row);
+            } catch (ServiceException e) {
+                row.error = e.getMessage();
+            }
+        });
+        for (Row row : chunk) {
+            batch.total++;
+            if (row.error != null)
+                batch.errors.put(row.line, row.error);
+            else
+                batch.rows.add(row);
+        }
+    }
+
+    private void checkFields(String kind, Row row) throws ServiceException {
+        String[] f = row.fields;
+        switch (kind) {
+            case USERS:
+                SeminarService.checkUser(f[0], f[1], f[2]);
+                break;
+            case SESSIONS:
+                long start = Session.parseStart(f[0]);
+                if (start == Session.NO_START)
+                    throw new ServiceException(ServiceException.BAD_REQUEST,
+                            "date must be \"yyyy-MM-dd HH:mm\", not \"" + f[0] + "\"");
+                row.start = start;
+                service.checkSession(start, f[1], f[2], f[3]);
+                break;
+            default:
+                service.checkSubmission(f[0], f[1], f[2], f[3], f[4], f[5], f[6]);
+                break;
+        }
+    }
+
+    // A large batch maps onto most stripes, which only briefly holds off other writers.
+    private static String[] lockKeys(Batch batch) {
+        List<String> keys = new ArrayList<>();
+        for (Row row : batch.rows) {
+            String[] f = row.fields;
+            switch (batch.kind) {
+                case USERS:
+                    keys.add(SeminarService.userLock(f[0]));
+                    break;
+                case SESSIONS:
+                    keys.add(SeminarService.venueLock(f[1]));
+                    keys.add(SeminarService.userLock(f[3]));
+                    break;
+                default:
+                    keys.add(SubmissionIndex.key(f[0], f[1]));
+                    keys.add(SeminarService.sessionLock(f[3]));
+                    break;
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+}
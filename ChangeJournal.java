@@ -0,0 +1,189 @@
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+public class ChangeJournal implements AutoCloseable {
+    public static final byte ADD_USER = 1;
+    public static final byte ADD_SUBMISSION = 2;
+    public static final byte ADD_SESSION = 3;
+    public static final byte GRADE = 4;
+    public static final byte SCHEDULE = 5;
+
+    private static final int MAGIC = 0x534D4A4C;
+    private static final int FILE_HEADER = 12;
+    private static final int RECORD_HEADER = 8;
+
+    public interface Replayer {
+        void apply(byte op, String[] fields);
+    }
+
+    private final FileChannel channel;
+    private long generation;
+    private int records;
+
+    public ChangeJournal(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    // Records are [length][crc32][op][field count][fields...]. A torn or corrupt tail stops the
+    // replay and is truncated away, so a crash mid-append loses at most that one record.
+    public synchronized int replay(long snapshotGeneration, Replayer replayer) throws IOException {
+        long size = channel.size();
+        if (size < FILE_HEADER) {
+            reset(snapshotGeneration);
+            return 0;
+        }
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        readFully(header, 0);
+        if (header.getInt(0) != MAGIC || header.getLong(4) != snapshotGeneration) {
+            reset(snapshotGeneration);
+            return 0;
+        }
+
+        long pos = FILE_HEADER;
+        int applied = 0;
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER);
+        CRC32 crc = new CRC32();
+        while (pos + RECORD_HEADER <= size) {
+            recordHeader.clear();
+            readFully(recordHeader, pos);
+            int length = recordHeader.getInt(0);
+            if (length <= 0 || pos + RECORD_HEADER + length > size)
+                break;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(body, pos + RECORD_HEADER);
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != recordHeader.getInt(4))
+                break;
+
+            body.rewind();
+            byte op = body.get();
+            String[] fields = new String[body.getShort()];
+            for (int i = 0; i < fields.length; i++) {
+                int len = body.getInt();
+                if (len >= 0) {
+                    fields[i] = new String(body.array(), body.position(), len, StandardCharsets.UTF_8);
+                    body.position(body.position() + len);
+                }
+            }
+            replayer.apply(op, fields);
+            pos += RECORD_HEADER + length;
+            applied++;
+        }
+
+        channel.truncate(pos);
+        channel.position(pos);
+        generation = snapshotGeneration;
+        records = applied;
+        return applied;
+    }
+
+    public static class Entry {
+        public final byte op;
+        public final String[] fields;
+
+        public Entry(byte op, String[] fields) {
+            this.op = op;
+            this.fields = fields;
+        }
+    }
+
+    public void append(byte op, String... fields) throws IOException {
+        append(Collections.singletonList(new Entry(op, fields)));
+    }
+
+    // Writes the whole batch with one positional write and one fsync. On failure the file is cut
+    // back to its previous length so later appends never land behind a half-written record.
+    public synchronized void append(List<Entry> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Entry entry : entries)
+            out.write(encode(entry.op, entry.fields));
+        ByteBuffer buf = ByteBuffer.wrap(out.toByteArray());
+
+        long start = channel.size();
+        try {
+            long pos = start;
+            while (buf.hasRemaining())
+                pos += channel.write(buf, pos);
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        records += entries.size();
+    }
+
+    private static byte[] encode(byte op, String[] fields) {
+        byte[][] encoded = new byte[fields.length][];
+        int length = 1 + 2;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] != null)
+                encoded[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+            length += 4 + (encoded[i] == null ? 0 : encoded[i].length);
+        }
+
+        ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER + length);
+        buf.position(RECORD_HEADER);
+        buf.put(op);
+        buf.putShort((short) fields.length);
+        for (byte[] b : encoded) {
+            if (b == null) {
+                buf.putInt(-1);
+            } else {
+                buf.putInt(b.length);
+                buf.put(b);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), RECORD_HEADER, length);
+        buf.putInt(0, length);
+        buf.putInt(4, (int) crc.getValue());
+        return buf.array();
+    }
+
+    public synchronized void reset(long newGeneration) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER);
+        header.putInt(MAGIC).putLong(newGeneration).flip();
+        while (header.hasRemaining())
+            channel.write(header, header.position());
+        channel.force(true);
+        generation = newGeneration;
+        records = 0;
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    public synchronized int size() {
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void readFully(ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = channel.read(buf, pos + buf.position());
+            if (n < 0)
+                throw new EOFException();
+        }
+    }
+}
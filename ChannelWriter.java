@@ -0,0 +1,58 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Encodes text into one reusable buffer and writes it to the file channel whenever the buffer fills,
+// so an export holds a single chunk in memory however many rows pass through it.
+public class ChannelWriter implements AutoCloseable {
+    private static final int CHUNK = 64 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetEncoder encoder;
+    private final ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK);
+    private long position;
+
+    public ChannelWriter(Path path, Charset charset) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    // Bytes written so far, including those still buffered.
+    public long position() {
+        return position + buf.position();
+    }
+
+    public void write(CharSequence text) throws IOException {
+        CharBuffer in = CharBuffer.wrap(text);
+        encoder.reset();
+        while (encoder.encode(in, buf, true).isOverflow())
+            drain();
+        while (encoder.flush(buf).isOverflow())
+            drain();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        buf.flip();
+        while (buf.hasRemaining())
+            position += channel.write(buf);
+        buf.clear();
+    }
+}
@@ -0,0 +1,310 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Keeps the abstract, supervisor and file path of each submission (stored row slots 8-10) out of
+// the resident submissions. New values stay pinned in memory until the persistence thread appends
+// them to the cold file; after that they are read back by offset (Submission.coldRef) through a
+// bounded LRU cache.
+//
+// Records are only ever appended, so one no submission refers to any more (written by a load that
+// detached the same fields again) stays until compact() copies the live records into a fresh file.
+// That file is named after the snapshot generation that refers to it, and replaces the cold file
+// once that snapshot is in place (see checkpointed and recover).
+//
+// The monitor only guards the maps and offsets: flush() writes and syncs, and get() reads, with it
+// released, so the event thread detaching a new submission never waits on the disk.
+public class ColdFieldStore implements AutoCloseable {
+    public static final int FIRST = 8;
+    public static final int COUNT = 3;
+    // An ADD_SUBMISSION journal entry whose cold fields were already written carries their offset
+    // here, after Submission.toFields(), instead of the fields themselves.
+    public static final int JOURNAL_REF = Submission.RUBRIC_FIELD + 1;
+    private static final int CACHE_SIZE = 256;
+    private static final int SCAN_WINDOW = 1 << 20;
+
+    private final Path path;
+    // Held by flush() for its whole run, so appends never overlap.
+    private final Object flushLock = new Object();
+    private FileChannel channel;
+    private Path compacted;
+    private long compactedGeneration;
+    private final Map<Submission, String[]> pending = new IdentityHashMap<>();
+    private final Map<Submission, String[]> cache = new LinkedHashMap<Submission, String[]>(64, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<Submission, String[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    public ColdFieldStore(Path path) throws IOException {
+        this.path = path;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+    }
+
+    // Moves the cold fields of a freshly created submission into the pending set and clears them
+    // on the submission.
+    public synchronized void detach(Submission sub) {
+        if (sub.abstractText == null && sub.supervisor == null && sub.file == null)
+            return;
+        pending.put(sub, new String[] { sub.abstractText, sub.supervisor, sub.file });
+        sub.abstractText = null;
+        sub.supervisor = null;
+        sub.file = null;
+    }
+
+    public synchronized void attach(Submission sub, long ref) {
+        sub.coldRef = ref;
+    }
+
+    public synchronized long refOf(Submission sub) {
+        return sub.coldRef;
+    }
+
+    public String[] get(Submission sub) throws IOException {
+        long ref;
+        FileChannel ch;
+        synchronized (this) {
+            String[] cold = pending.get(sub);
+            if (cold == null)
+                cold = cache.get(sub);
+            if (cold != null)
+                return cold.clone();
+            ref = sub.coldRef;
+            ch = channel;
+        }
+        if (ref < 0)
+            return new String[COUNT];
+        String[] cold = read(ch, ref);
+        synchronized (this) {
+            cache.put(sub, cold);
+        }
+        return cold.clone();
+    }
+
+    // Takes a copy of the pending set, appends and syncs it unlocked, then publishes the offsets.
+    // Fields detached meanwhile stay pending for the next flush.
+    public void flush() throws IOException {
+        synchronized (flushLock) {
+            Map<Submission, String[]> batch;
+            FileChannel ch;
+            synchronized (this) {
+                if (pending.isEmpty())
+                    return;
+                batch = new IdentityHashMap<>(pending);
+                ch = channel;
+            }
+            Map<Submission, Long> refs = new IdentityHashMap<>();
+            long pos = ch.size();
+            for (Map.Entry<Submission, String[]> e : batch.entrySet()) {
+                ByteBuffer buf = encode(e.getValue());
+                refs.put(e.getKey(), pos);
+                while (buf.hasRemaining())
+                    pos += ch.write(buf, pos);
+            }
+            ch.force(false);
+            synchronized (this) {
+                for (Map.Entry<Submission, String[]> e : batch.entrySet()) {
+                    Submission sub = e.getKey();
+                    sub.coldRef = refs.get(sub);
+                    cache.put(sub, e.getValue());
+                    pending.remove(sub);
+                }
+            }
+        }
+    }
+
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    public synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    // Bytes of records none of the given submissions refers to. Walks the record headers once in
+    // file order, reading a window at a time.
+    public synchronized long garbage(List<Submission> live) throws IOException {
+        long[] refs = new long[live.size()];
+        int n = 0;
+        for (Submission sub : live) {
+            if (sub.coldRef >= 0)
+                refs[n++] = sub.coldRef;
+        }
+        Arrays.sort(refs, 0, n);
+        ByteBuffer window = ByteBuffer.allocateDirect(SCAN_WINDOW);
+        long windowStart = 0;
+        window.limit(0);
+        long size = channel.size();
+        long pos = 0;
+        long garbage = 0;
+        int next = 0;
+        while (pos + 8 <= size) {
+            if (pos + 8 > windowStart + window.limit()) {
+                window.clear();
+                windowStart = pos;
+                while (window.position() < 8) {
+                    if (channel.read(window, pos + window.position()) < 0)
+                        break;
+                }
+                window.flip();
+                if (window.limit() < 8)
+                    break;
+            }
+            long record = 8L + window.getInt((int) (pos - windowStart));
+            if (record < 8 || pos + record > size)
+                break;
+            while (next < n && refs[next] < pos)
+                next++;
+            if (next == n || refs[next] != pos)
+                garbage += record;
+            pos += record;
+        }
+        return garbage + Math.max(0, size - pos);
+    }
+
+    // Copies the records of the given submissions, which must be every submission that has one,
+    // into a new file and points them and all further appends at it. The file replaces the cold
+    // file once the snapshot of the given generation, which holds the new offsets, is written.
+    // Only called while nothing else uses the store.
+    public void compact(List<Submission> live, long generation) throws IOException {
+        synchronized (flushLock) {
+            flush();
+            synchronized (this) {
+                copyLive(live, generation);
+            }
+        }
+    }
+
+    private void copyLive(List<Submission> live, long generation) throws IOException {
+        Path target = compactedPath(path, generation);
+        FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long[] refs = new long[live.size()];
+        try {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            long pos = 0;
+            for (int i = 0; i < refs.length; i++) {
+                long ref = live.get(i).coldRef;
+                refs[i] = -1;
+                if (ref < 0)
+                    continue;
+                header.clear();
+                readFully(channel, header, ref);
+                long length = 8L + header.getInt(0);
+                refs[i] = pos;
+                for (long done = 0; done < length;)
+                    done += channel.transferTo(ref + done, length - done, out);
+                pos += length;
+            }
+            out.force(false);
+        } catch (IOException e) {
+            out.close();
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        for (int i = 0; i < refs.length; i++)
+            live.get(i).coldRef = refs[i];
+        channel.close();
+        channel = out;
+        compacted = target;
+        compactedGeneration = generation;
+    }
+
+    // Called once the snapshot of a generation is in place.
+    public synchronized void checkpointed(long generation) throws IOException {
+        if (compacted != null && compactedGeneration == generation) {
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            compacted = null;
+        }
+    }
+
+    // Finishes or discards a compaction a crash cut short, before the store is opened: the
+    // compacted file is the right one if the snapshot on disk is of its generation.
+    public static void recover(Path path, long snapshotGeneration) throws IOException {
+        Path current = compactedPath(path, snapshotGeneration);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(path.toAbsolutePath().getParent(),
+                path.getFileName() + ".*")) {
+            for (Path p : leftovers) {
+                if (p.getFileName().equals(current.getFileName()))
+                    Files.move(p, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                else
+                    Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static Path compactedPath(Path path, long generation) {
+        return path.resolveSibling(path.getFileName() + "." + generation);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer encode(String[] cold) {
+        byte[][] bytes = new byte[COUNT][];
+        int length = 0;
+        for (int i = 0; i < COUNT; i++) {
+            if (cold[i] != null)
+                bytes[i] = cold[i].getBytes(StandardCharsets.UTF_8);
+            length += 4 + (bytes[i] == null ? 0 : bytes[i].length);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(8 + length);
+        buf.position(8);
+        for (byte[] b : bytes) {
+            buf.putInt(b == null ? -1 : b.length);
+            if (b != null)
+                buf.put(b);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), 8, length);
+        buf.putInt(0, length);
+        buf.putInt(4, (int) crc.getValue());
+        buf.rewind();
+        return buf;
+    }
+
+    private static String[] read(FileChannel ch, long ref) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8);
+        readFully(ch, header, ref);
+        ByteBuffer body = ByteBuffer.allocate(header.getInt(0));
+        readFully(ch, body, ref + 8);
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, body.capacity());
+        if ((int) crc.getValue() != header.getInt(4))
+            throw new IOException("Corrupt cold record at offset " + ref);
+
+        body.rewind();
+        String[] cold = new String[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            int len = body.getInt();
+            if (len >= 0) {
+                cold[i] = new String(body.array(), body.position(), len, StandardCharsets.UTF_8);
+                body.position(body.position() + len);
+            }
+        }
+        return cold;
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0)
+                throw new EOFException();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader, the counterpart of CsvReportSink: one record per next() call, quoted
+// fields may hold commas, doubled quotes and line breaks. Only the current record is in memory.
+public class CsvReader implements Closeable {
+    private final BufferedReader in;
+    private final StringBuilder field = new StringBuilder();
+    private int line = 1;
+    private int recordLine;
+    private boolean bomChecked;
+
+    public CsvReader(Reader in) {
+        this.in = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in, 64 * 1024);
+    }
+
+    // The 1-based line the last record returned by next() started on.
+    public int recordLine() {
+        return recordLine;
+    }
+
+    // The next record, or null at end of input. Blank lines are skipped.
+    public String[] next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean any = false;
+        recordLine = line;
+        int c;
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n')
+                        line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                any = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                any = true;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n')
+                        in.reset();
+                }
+                line++;
+                if (any || field.length() > 0)
+                    break;
+                recordLine = line;
+            } else {
+                field.append((char) c);
+                any = true;
+            }
+        }
+        if (!any && field.length() == 0)
+            return null;
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int read() throws IOException {
+        int c = in.read();
+        if (!bomChecked) {
+            bomChecked = true;
+            if (c == '\uFEFF')
+                c = in.read();
+        }
+        return c;
+    }
+}
@@ -0,0 +1,54 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Writes each report table as CSV rows; titles, notes and table headings become single-cell rows.
+public class CsvReportSink implements ReportSink {
+    private final ChannelWriter out;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public CsvReportSink(ChannelWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void title(String title) {
+        row(title);
+    }
+
+    @Override
+    public void line(String text) {
+        if (text.isEmpty())
+            row();
+        else
+            row(text);
+    }
+
+    @Override
+    public void table(String heading, String... columns) {
+        row();
+        row(heading);
+        row((Object[]) columns);
+    }
+
+    @Override
+    public void row(Object... cells) {
+        line.setLength(0);
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0)
+                line.append(',');
+            String cell = String.valueOf(cells[i]);
+            if (cell.indexOf(',') >= 0 || cell.indexOf('"') >= 0 || cell.indexOf('\n') >= 0
+                    || cell.indexOf('\r') >= 0) {
+                line.append('"').append(cell.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(cell);
+            }
+        }
+        line.append("\r\n");
+        try {
+            out.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+public interface DataChangeListener {
+    default void submissionAdded(Submission sub) {
+    }
+
+    default void submissionUpdated(Submission sub) {
+    }
+
+    default void sessionAdded(Session session) {
+    }
+
+    default void userAdded(User user) {
+    }
+}
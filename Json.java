@@ -0,0 +1,156 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Just enough JSON for the HTTP API: request bodies are flat objects of strings and numbers, and
+// responses are written by hand with quote() for every string value.
+public final class Json {
+    private Json() {
+    }
+
+    public static String quote(Object value) {
+        if (value == null)
+            return "null";
+        String s = value.toString();
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20)
+                        sb.append(String.format("\\u%04x", (int) c));
+                    else
+                        sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    // Parses a flat object; numbers, booleans and null come back as their literal text (null as null).
+    public static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, String> result = new LinkedHashMap<>();
+        p.skip('{');
+        if (!p.peek('}')) {
+            do {
+                String key = p.string();
+                p.skip(':');
+                result.put(key, p.value());
+            } while (p.optional(','));
+        }
+        p.skip('}');
+        p.end();
+        return result;
+    }
+
+    private static class Parser {
+        private final String s;
+        private int pos;
+
+        Parser(String s) {
+            this.s = s;
+        }
+
+        void whitespace() {
+            while (pos < s.length() && Character.isWhitespace(s.charAt(pos)))
+                pos++;
+        }
+
+        boolean peek(char c) {
+            whitespace();
+            return pos < s.length() && s.charAt(pos) == c;
+        }
+
+        boolean optional(char c) {
+            if (!peek(c))
+                return false;
+            pos++;
+            return true;
+        }
+
+        void skip(char c) {
+            if (!optional(c))
+                throw error("expected '" + c + "'");
+        }
+
+        void end() {
+            whitespace();
+            if (pos != s.length())
+                throw error("unexpected trailing content");
+        }
+
+        String value() {
+            if (peek('"'))
+                return string();
+            int start = pos;
+            while (pos < s.length() && ",}] \t\r\n".indexOf(s.charAt(pos)) < 0)
+                pos++;
+            String literal = s.substring(start, pos);
+            if (literal.isEmpty() || literal.startsWith("{") || literal.startsWith("["))
+                throw error("expected a string, number or literal");
+            return literal.equals("null") ? null : literal;
+        }
+
+        String string() {
+            skip('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                if (pos >= s.length())
+                    throw error("unterminated string");
+                char c = s.charAt(pos++);
+                if (c == '"')
+                    return sb.toString();
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= s.length())
+                    throw error("unterminated escape");
+                char e = s.charAt(pos++);
+                switch (e) {
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'u':
+                        if (pos + 4 > s.length())
+                            throw error("bad unicode escape");
+                        sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default:
+                        sb.append(e);
+                }
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Malformed JSON at " + pos + ": " + message);
+        }
+    }
+}
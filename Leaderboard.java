@@ -0,0 +1,88 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Graded submissions ordered by parsed score, one ranking per award category. Grading re-ranks a
+// single row in O(log n), so the award dialog reads the top entries without scanning or parsing.
+// Ties go to whichever row was graded first. The rankings are concurrent skip lists: callers
+// serialize updates per row (SeminarStore grades under the row's lock) and top() never locks.
+public class Leaderboard {
+    public static final String ORAL = "Oral";
+    public static final String POSTER = "Poster";
+    public static final String ALL = "All";
+
+    private static class Entry {
+        final Submission sub;
+        final int score;
+        final long seq;
+
+        Entry(Submission sub, int score, long seq) {
+            this.sub = sub;
+            this.score = score;
+            this.seq = seq;
+        }
+    }
+
+    // Submissions hash by identity, so the entries map is keyed by identity like the other indexes.
+    private final Map<String, NavigableSet<Entry>> byCategory = new ConcurrentHashMap<>();
+    private final Map<Submission, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong seq = new AtomicLong();
+
+    public void rebuild(Collection<Submission> submissions) {
+        byCategory.clear();
+        entries.clear();
+        for (Submission sub : submissions)
+            update(sub);
+    }
+
+    // Called for every new or regraded row; ungraded rows are ignored.
+    public void update(Submission sub) {
+        int score = sub.score();
+        Entry old = entries.get(sub);
+        if (old != null) {
+            if (old.score == score)
+                return;
+            for (String category : categories(sub))
+                byCategory.get(category).remove(old);
+            entries.remove(sub);
+        }
+        if (score < 0)
+            return;
+        Entry entry = new Entry(sub, score, seq.getAndIncrement());
+        entries.put(sub, entry);
+        for (String category : categories(sub))
+            byCategory.computeIfAbsent(category, k -> new ConcurrentSkipListSet<>((a, b) -> a.score != b.score
+                    ? Integer.compare(b.score, a.score) : Long.compare(a.seq, b.seq))).add(entry);
+    }
+
+    public List<Submission> top(String category, int limit) {
+        NavigableSet<Entry> ranked = byCategory.get(category);
+        if (ranked == null)
+            return Collections.emptyList();
+        List<Submission> result = new ArrayList<>(Math.min(limit, 1024));
+        for (Entry e : ranked) {
+            if (result.size() == limit)
+                break;
+            result.add(e.sub);
+        }
+        return result;
+    }
+
+    public int size(String category) {
+        NavigableSet<Entry> ranked = byCategory.get(category);
+        return ranked == null ? 0 : ranked.size();
+    }
+
+    private static List<String> categories(Submission sub) {
+        List<String> categories = new ArrayList<>(2);
+        categories.add(ALL);
+        categories.add(sub.type() == PresentationType.POSTER ? POSTER : ORAL);
+        return categories;
+    }
+}
@@ -0,0 +1,190 @@
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Call counts and latency histograms per operation, plus gauges read when asked (file sizes,
+// record counts). SHARED is what the store, the service and the window record into; it is
+// published over JMX as OBJECT_NAME and shown on the coordinator's Diagnostics tab.
+//
+// Recording is a few uncontended adds: latencies fall into power-of-two microsecond buckets, so
+// percentiles come out to within a factor of two, which is enough to see a regression as the data
+// grows without keeping every sample.
+public class Metrics implements MetricsMXBean {
+    public static final Metrics SHARED = new Metrics();
+    public static final String OBJECT_NAME = "SeminarSystem:type=Metrics";
+
+    public static final String LOAD = "load";
+    public static final String SAVE = "save";
+    public static final String JOURNAL_APPEND = "journalAppend";
+    public static final String LOGIN = "login";
+    public static final String CONFLICT_CHECK = "conflictCheck";
+    public static final String REFRESH_ROLE_DATA = "refreshRoleData";
+    public static final String REFRESH_SESSIONS = "refreshStudentSessions";
+    public static final String FILE_INGEST = "fileIngest";
+
+    private static final int BUCKETS = 40;
+
+    private static class Histogram {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            long micros = nanos / 1000;
+            buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+        }
+
+        // Upper bound of the bucket holding the given fraction of the samples, in milliseconds.
+        double percentile(long[] counts, long total, double fraction) {
+            long rank = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int b = 0; b < counts.length; b++) {
+                seen += counts[b];
+                if (seen >= rank && seen > 0)
+                    return (1L << b) / 1000.0;
+            }
+            return 0;
+        }
+
+        OperationStats stats(String name) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b] = buckets.get(b);
+                total += counts[b];
+            }
+            long n = count.sum();
+            double max = maxNanos.get() / 1e6;
+            return new OperationStats(name, n, n == 0 ? 0 : totalNanos.sum() / 1e6 / n,
+                    Math.min(max, percentile(counts, total, 0.50)), Math.min(max, percentile(counts, total, 0.95)),
+                    Math.min(max, percentile(counts, total, 0.99)), max);
+        }
+    }
+
+    // Closing it records the time since it was opened; see time().
+    public static class Timing implements AutoCloseable {
+        private final Histogram histogram;
+        private final long start = System.nanoTime();
+
+        Timing(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void close() {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    public static class OperationStats {
+        private final String name;
+        private final long count;
+        private final double meanMillis;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        OperationStats(String name, long count, double meanMillis, double p50Millis, double p95Millis,
+                double p99Millis, double maxMillis) {
+            this.name = name;
+            this.count = count;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private boolean registered;
+
+    // try (Metrics.Timing t = Metrics.SHARED.time(Metrics.LOGIN)) { ... }
+    public Timing time(String operation) {
+        return new Timing(histograms.computeIfAbsent(operation, k -> new Histogram()));
+    }
+
+    // A later gauge of the same name replaces the earlier one, so a reopened store reports itself.
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    // Publishes this instance on the platform MBean server; safe to call more than once.
+    public synchronized void register() {
+        if (registered)
+            return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+            registered = true;
+        } catch (JMException e) {
+            System.out.println("Could not register metrics: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<OperationStats> getOperations() {
+        List<OperationStats> result = new ArrayList<>();
+        for (Map.Entry<String, Histogram> e : histograms.entrySet())
+            result.add(e.getValue().stats(e.getKey()));
+        result.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getGauges() {
+        Map<String, Long> values = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> e : gauges.entrySet())
+            values.put(e.getKey(), e.getValue().getAsLong());
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        histograms.clear();
+    }
+}
@@ -0,0 +1,12 @@
+import java.util.List;
+import java.util.Map;
+
+// What Metrics publishes over JMX: one row per timed operation, the gauges by name, and a reset of
+// the operation counters.
+public interface MetricsMXBean {
+    List<Metrics.OperationStats> getOperations();
+
+    Map<String, Long> getGauges();
+
+    void reset();
+}
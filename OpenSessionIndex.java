@@ -0,0 +1,87 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+// Sessions nobody has booked yet that have not started, ordered by start time. The store adds a
+// session when it is created and drops it when a submission books it; a background task drops
+// sessions as they start, so the set holds only what a student can still pick and listing it
+// costs the number of open sessions, not the number of sessions or submissions ever made.
+public class OpenSessionIndex implements AutoCloseable {
+    public static final long EXPIRY_MILLIS = 60 * 1000;
+
+    private static final Comparator<Session> BY_START = Comparator.comparingLong(Session::start)
+            .thenComparing(Session::id);
+
+    private final NavigableSet<Session> open = new ConcurrentSkipListSet<>(BY_START);
+    private final Map<String, Session> byId = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService expiry = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "open-session-expiry");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public OpenSessionIndex() {
+        expiry.scheduleWithFixedDelay(() -> expire(System.currentTimeMillis()), EXPIRY_MILLIS, EXPIRY_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void rebuild(Collection<Session> sessions, Predicate<Session> booked) {
+        open.clear();
+        byId.clear();
+        for (Session s : sessions) {
+            if (!booked.test(s))
+                add(s);
+        }
+    }
+
+    // Called before the session is visible to anyone who could book it, so booked() always finds
+    // it. Sessions that have already started are left out.
+    public void add(Session s) {
+        if (s.start() <= System.currentTimeMillis() || byId.putIfAbsent(s.id(), s) != null)
+            return;
+        open.add(s);
+    }
+
+    public void booked(String sessionId) {
+        Session s = byId.remove(sessionId);
+        if (s != null)
+            open.remove(s);
+    }
+
+    // Drops every session starting at or before now.
+    public void expire(long now) {
+        NavigableSet<Session> started = open.headSet(probe(now + 1), false);
+        for (Session s : started) {
+            byId.remove(s.id());
+            open.remove(s);
+        }
+    }
+
+    // Open sessions starting after now, earliest first.
+    public List<Session> after(long now) {
+        return new ArrayList<>(open.tailSet(probe(now + 1), true));
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    @Override
+    public void close() {
+        expiry.shutdownNow();
+    }
+
+    // Sorts before every real session starting at the same instant, as IDs are never empty.
+    private static Session probe(long start) {
+        return new Session("", start, null, null, null, null);
+    }
+}
@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+// Lays the text rendering of a report out on landscape A4 pages in Courier and writes each page as
+// soon as it fills. Only the current page and the object offsets for the cross-reference table are
+// held in memory. Objects 1-3 are the catalog, the page tree (written last) and the font.
+public class PdfReportSink implements ReportSink {
+    private static final int MAX_COLUMNS = 160;
+    private static final int FONT_SIZE = 8;
+    private static final int LEADING = 9;
+    // Baselines of the first and lowest lines on the 595pt page, leaving room for descenders.
+    private static final int TOP = 567;
+    private static final int BOTTOM = 18;
+    private static final int LINES_PER_PAGE = (TOP - BOTTOM) / LEADING + 1;
+
+    private final ChannelWriter out;
+    private final TextReportSink text;
+    private final StringBuilder page = new StringBuilder(16 * 1024);
+    private final StringBuilder pending = new StringBuilder();
+    private long[] offsets = new long[64];
+    private int objects = 3;
+    private int[] pageObjects = new int[16];
+    private int pages;
+    private int linesOnPage;
+
+    public PdfReportSink(ChannelWriter out) {
+        this.out = out;
+        this.text = new TextReportSink(this::layout);
+        try {
+            out.write("%PDF-1.4\n");
+            object(1, "<< /Type /Catalog /Pages 2 0 R >>");
+            object(3, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void title(String title) {
+        text.title(title);
+    }
+
+    @Override
+    public void line(String line) {
+        text.line(line);
+    }
+
+    @Override
+    public void table(String heading, String... columns) {
+        text.table(heading, columns);
+    }
+
+    @Override
+    public void row(Object... cells) {
+        text.row(cells);
+    }
+
+    @Override
+    public void finish() {
+        text.finish();
+        try {
+            if (pending.length() > 0)
+                addLine(pending.toString());
+            if (linesOnPage > 0 || pages == 0)
+                writePage();
+
+            StringBuilder kids = new StringBuilder("<< /Type /Pages /Kids [");
+            for (int i = 0; i < pages; i++)
+                kids.append(pageObjects[i]).append(" 0 R ");
+            kids.append("] /Count ").append(pages).append(" >>");
+            object(2, kids);
+
+            long xref = out.position();
+            StringBuilder table = new StringBuilder("xref\n0 ").append(objects + 1).append("\n0000000000 65535 f \n");
+            for (int i = 1; i <= objects; i++)
+                table.append(String.format("%010d 00000 n \n", offsets[i]));
+            table.append("trailer\n<< /Size ").append(objects + 1).append(" /Root 1 0 R >>\nstartxref\n")
+                    .append(xref).append("\n%%EOF\n");
+            out.write(table);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Chunks from the text renderer end on line boundaries, but a partial line is carried over anyway.
+    private void layout(String chunk) {
+        try {
+            int start = 0;
+            for (int nl = chunk.indexOf('\n'); nl >= 0; nl = chunk.indexOf('\n', start)) {
+                pending.append(chunk, start, nl);
+                addLine(pending.toString());
+                pending.setLength(0);
+                start = nl + 1;
+            }
+            pending.append(chunk, start, chunk.length());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void addLine(String line) throws IOException {
+        if (linesOnPage == LINES_PER_PAGE)
+            writePage();
+        if (line.length() > MAX_COLUMNS)
+            line = line.substring(0, MAX_COLUMNS);
+        page.append('(');
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c > 0xFF) {
+                c = '?';
+            } else if (c == '(' || c == ')' || c == '\\') {
+                page.append('\\');
+            }
+            page.append(c);
+        }
+        page.append(") Tj T*\n");
+        linesOnPage++;
+    }
+
+    private void writePage() throws IOException {
+        String content = "BT /F1 " + FONT_SIZE + " Tf " + LEADING + " TL 28 " + TOP + " Td\n" + page + "ET\n";
+        int contents = ++objects;
+        // addLine keeps every character single-byte, so the character count is the stream length.
+        object(contents, "<< /Length " + content.length() + " >>\nstream\n" + content + "endstream");
+        int pageObject = ++objects;
+        object(pageObject, "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 842 595] /Resources << /Font << /F1 3 0 R >> >> /Contents "
+                + contents + " 0 R >>");
+        if (pages == pageObjects.length)
+            pageObjects = Arrays.copyOf(pageObjects, pages * 2);
+        pageObjects[pages++] = pageObject;
+        page.setLength(0);
+        linesOnPage = 0;
+    }
+
+    private void object(int number, CharSequence body) throws IOException {
+        if (number >= offsets.length)
+            offsets = Arrays.copyOf(offsets, Math.max(number + 1, offsets.length * 2));
+        offsets[number] = out.position();
+        out.write(number + " 0 obj\n");
+        out.write(body);
+        out.write("\nendobj\n");
+    }
+}
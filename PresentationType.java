@@ -0,0 +1,37 @@
+// Sessions are labelled "Oral" or "Poster", the submissions booked into them "Oral Presentation"
+// or "Poster Presentation"; both name the same two formats.
+public enum PresentationType {
+    ORAL("Oral", "Oral Presentation"),
+    POSTER("Poster", "Poster Presentation");
+
+    private final String sessionLabel;
+    private final String label;
+
+    PresentationType(String sessionLabel, String label) {
+        this.sessionLabel = sessionLabel;
+        this.label = label;
+    }
+
+    // Matches either label; null for anything else.
+    public static PresentationType of(String label) {
+        for (PresentationType t : values()) {
+            if (t.label.equals(label) || t.sessionLabel.equals(label))
+                return t;
+        }
+        return null;
+    }
+
+    // Stored rows are read as leniently as the old contains() checks were.
+    static PresentationType parse(String label) {
+        return label != null && label.contains(POSTER.sessionLabel) ? POSTER : ORAL;
+    }
+
+    public String sessionLabel() {
+        return sessionLabel;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -0,0 +1,382 @@
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+// Previews of presentation files for the research detail view: a thumbnail of an image, or the
+// opening text of a slide deck, document or text file. Other formats, PDF among them, get a
+// one-line description, as rendering them needs a library the application does not ship.
+//
+// Previews are made on a small pool of daemon threads and kept twice: in memory per submission,
+// bounded by MEMORY_BYTES, and on disk per file content, bounded by DISK_BYTES; both drop the least
+// recently used first. Stored files are keyed by their content hash (see BlobStore), so a preview
+// is made once per distinct file however many submissions share it; plain paths from older data
+// are keyed by path, size and modification time. prefetch() is how the grading queue gets the
+// next presenters' previews ready before they are opened.
+public class PreviewCache {
+    public static final int MAX_EDGE = 480;
+    public static final long MEMORY_BYTES = 32L << 20;
+    public static final long DISK_BYTES = 256L << 20;
+    private static final int THREADS = 2;
+    private static final int TEXT_CHARS = 2000;
+    private static final int TEXT_BYTES = 8 * 1024;
+    private static final int XML_BYTES = 512 * 1024;
+    private static final String IMAGE_SUFFIX = ".png";
+    private static final String TEXT_SUFFIX = ".txt";
+    private static final String[] TEXT_TYPES = { "txt", "md", "csv", "tex", "rtf", "json", "xml", "html", "java",
+            "py", "c", "cpp", "r", "m" };
+
+    public static class Preview {
+        // Exactly one of the two is set.
+        public final BufferedImage image;
+        public final String text;
+        // False for a message saying why there is no preview, which is shown but never cached, so
+        // a file that turns up or a read that succeeds next time is not hidden behind it.
+        final boolean cacheable;
+
+        Preview(BufferedImage image, String text) {
+            this(image, text, true);
+        }
+
+        private Preview(BufferedImage image, String text, boolean cacheable) {
+            this.image = image;
+            this.text = text;
+            this.cacheable = cacheable;
+        }
+
+        static Preview unavailable(String message) {
+            return new Preview(null, message, false);
+        }
+
+        long bytes() {
+            return image != null ? 4L * image.getWidth() * image.getHeight() : 2L * text.length();
+        }
+    }
+
+    private final SeminarService service;
+    private final Path directory;
+    private final ExecutorService pool;
+    private final Map<String, CompletableFuture<Preview>> inFlight = new ConcurrentHashMap<>();
+    // By submission key; guarded by this.
+    private final LinkedHashMap<String, Preview> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    // Disk file name to size, least recently used first; guarded by this. Null when the directory
+    // cannot be used, which leaves the memory cache working on its own.
+    private final LinkedHashMap<String, Long> disk;
+    private long diskBytes;
+
+    public PreviewCache(SeminarService service, Path directory) {
+        this.service = service;
+        this.directory = directory;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread t = new Thread(r, "preview-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        this.disk = openDisk();
+    }
+
+    // Completes on a pool thread, or at once if the preview is in memory. The future is published
+    // before the work starts and its cleanup registered outside the map, so a preview that
+    // completes at once never updates inFlight from inside an update of it, and only removes its
+    // own entry.
+    public CompletableFuture<Preview> preview(String presenter, String title) {
+        String key = SubmissionIndex.key(presenter, title);
+        synchronized (this) {
+            Preview cached = memory.get(key);
+            if (cached != null)
+                return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Preview> running = inFlight.get(key);
+        if (running != null)
+            return running;
+        CompletableFuture<Preview> f = new CompletableFuture<>();
+        running = inFlight.putIfAbsent(key, f);
+        if (running != null)
+            return running;
+        f.whenComplete((p, e) -> {
+            if (p != null && p.cacheable)
+                remember(key, p);
+            inFlight.remove(key, f);
+        });
+        f.completeAsync(() -> load(presenter, title), pool);
+        return f;
+    }
+
+    public void prefetch(String presenter, String title) {
+        preview(presenter, title);
+    }
+
+    private Preview load(String presenter, String title) {
+        Submission.Details d;
+        try {
+            d = service.detail(presenter, title);
+        } catch (ServiceException | IOException e) {
+            return Preview.unavailable("No preview: " + e.getMessage());
+        }
+        Path path = service.storedFile(d);
+        if (path == null && d.file != null && !BlobStore.isRef(d.file)) {
+            try {
+                path = Path.of(d.file);
+            } catch (RuntimeException badPath) {
+                path = null;
+            }
+        }
+        if (path == null || !Files.isRegularFile(path))
+            return Preview.unavailable("The presentation file is not available on this machine.");
+        try {
+            String key = contentKey(d.file, path);
+            Preview p = readDisk(key);
+            if (p == null) {
+                p = generate(path, BlobStore.nameOf(d.file));
+                if (p.cacheable)
+                    writeDisk(key, p);
+            }
+            return p;
+        } catch (IOException | RuntimeException e) {
+            return Preview.unavailable("No preview: " + e.getMessage());
+        }
+    }
+
+    private synchronized void remember(String key, Preview p) {
+        Preview old = memory.put(key, p);
+        if (old != null)
+            memoryBytes -= old.bytes();
+        memoryBytes += p.bytes();
+        Iterator<Preview> lru = memory.values().iterator();
+        while (memoryBytes > MEMORY_BYTES && memory.size() > 1) {
+            memoryBytes -= lru.next().bytes();
+            lru.remove();
+        }
+    }
+
+    // Stored files are named by their hash already; anything else by what identifies its version.
+    private static String contentKey(String file, Path path) throws IOException {
+        if (BlobStore.isRef(file))
+            return BlobStore.hashOf(file);
+        String id = path.toAbsolutePath() + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path).toMillis();
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(id.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : hash)
+                hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Preview generate(Path path, String name) throws IOException {
+        int dot = name.lastIndexOf('.');
+        String type = dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+        switch (type) {
+            case "pptx":
+                return zipText(path, "ppt/slides/slide1.xml", "First slide");
+            case "docx":
+                return zipText(path, "word/document.xml", "Opening text");
+            case "odp":
+            case "odt":
+                return zipText(path, "content.xml", "Opening text");
+            default:
+                break;
+        }
+        for (String t : TEXT_TYPES) {
+            if (t.equals(type))
+                return new Preview(null, plainText(path));
+        }
+        BufferedImage image = thumbnail(path);
+        if (image != null)
+            return new Preview(image, null);
+        return Preview.unavailable("No preview for " + (type.isEmpty() ? "this" : type.toUpperCase(Locale.ROOT))
+                + " files. " + name + ", " + Files.size(path) / 1024 + " KB.");
+    }
+
+    // Decodes only every n-th pixel of a large image, so a poster scan never sits in memory whole.
+    private static BufferedImage thumbnail(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            if (in == null)
+                return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext())
+                return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int edge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, edge / (2 * MAX_EDGE));
+                param.setSourceSubsampling(step, step, 0, 0);
+                BufferedImage decoded = reader.read(0, param);
+                double scale = Math.min(1.0, (double) MAX_EDGE / Math.max(decoded.getWidth(), decoded.getHeight()));
+                int w = Math.max(1, (int) Math.round(decoded.getWidth() * scale));
+                int h = Math.max(1, (int) Math.round(decoded.getHeight() * scale));
+                BufferedImage thumb = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = thumb.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setColor(java.awt.Color.WHITE);
+                g.fillRect(0, 0, w, h);
+                g.drawImage(decoded, 0, 0, w, h, null);
+                g.dispose();
+                return thumb;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static String plainText(Path path) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(TEXT_BYTES);
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            int n;
+            do {
+                n = in.read(buf);
+            } while (n > 0 && buf.hasRemaining());
+        }
+        buf.flip();
+        String text = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE).decode(buf).toString();
+        return clip(text);
+    }
+
+    // The text runs of one XML part of an Office or OpenDocument file, a paragraph per line.
+    private static Preview zipText(Path path, String part, String heading) throws IOException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            ZipEntry entry = zip.getEntry(part);
+            if (entry == null)
+                return Preview.unavailable("No preview: " + part + " is missing from the file.");
+            String xml;
+            try (InputStream in = zip.getInputStream(entry)) {
+                xml = new String(in.readNBytes(XML_BYTES), StandardCharsets.UTF_8);
+            }
+            String text = xml.replaceAll("</(a:p|w:p|text:p|text:h)>", "\n").replaceAll("<[^>]*>?", "")
+                    .replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"").replace("&apos;", "'")
+                    .replace("&amp;", "&").replaceAll("[ \\t\\x0B\\f\\r]+", " ").replaceAll(" *\n[\\s]*", "\n")
+                    .trim();
+            return new Preview(null, heading + ":\n\n" + clip(text.isEmpty() ? "(no text)" : text));
+        }
+    }
+
+    private static String clip(String text) {
+        return text.length() <= TEXT_CHARS ? text : text.substring(0, TEXT_CHARS) + "...";
+    }
+
+    private LinkedHashMap<String, Long> openDisk() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = new ArrayList<>();
+            try (DirectoryStream<Path> stored = Files.newDirectoryStream(directory)) {
+                for (Path p : stored) {
+                    if (p.getFileName().toString().endsWith(".part"))
+                        Files.deleteIfExists(p);
+                    else
+                        files.add(p);
+                }
+            }
+            Map<Path, Long> modified = new LinkedHashMap<>();
+            for (Path p : files)
+                modified.put(p, Files.getLastModifiedTime(p).toMillis());
+            files.sort((a, b) -> Long.compare(modified.get(a), modified.get(b)));
+            LinkedHashMap<String, Long> index = new LinkedHashMap<>(64, 0.75f, true);
+            for (Path p : files) {
+                long size = Files.size(p);
+                index.put(p.getFileName().toString(), size);
+                diskBytes += size;
+            }
+            return index;
+        } catch (IOException e) {
+            System.out.println("Preview cache on disk disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Preview readDisk(String key) throws IOException {
+        String name;
+        synchronized (this) {
+            if (disk == null)
+                return null;
+            name = disk.containsKey(key + IMAGE_SUFFIX) ? key + IMAGE_SUFFIX
+                    : disk.containsKey(key + TEXT_SUFFIX) ? key + TEXT_SUFFIX : null;
+            if (name == null)
+                return null;
+            disk.get(name); // marks it used
+        }
+        Path file = directory.resolve(name);
+        try {
+            Preview p = name.endsWith(IMAGE_SUFFIX) ? new Preview(ImageIO.read(file.toFile()), null)
+                    : new Preview(null, Files.readString(file));
+            if (p.image == null && p.text == null)
+                return null;
+            // The modification time carries the use order over to the next run.
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return p;
+        } catch (IOException e) {
+            synchronized (this) {
+                Long size = disk.remove(name);
+                if (size != null)
+                    diskBytes -= size;
+            }
+            return null;
+        }
+    }
+
+    // Written under a temporary name and renamed, so a reader never sees half a preview.
+    private void writeDisk(String key, Preview p) throws IOException {
+        if (disk == null)
+            return;
+        String name = key + (p.image != null ? IMAGE_SUFFIX : TEXT_SUFFIX);
+        Path temp = directory.resolve(name + "." + Thread.currentThread().getId() + ".part");
+        if (p.image != null)
+            ImageIO.write(p.image, "png", temp.toFile());
+        else
+            Files.writeString(temp, p.text);
+        long size = Files.size(temp);
+        Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long old = disk.put(name, size);
+            diskBytes += size - (old == null ? 0 : old);
+            Iterator<Map.Entry<String, Long>> lru = disk.entrySet().iterator();
+            while (diskBytes > DISK_BYTES && disk.size() > 1) {
+                Map.Entry<String, Long> e = lru.next();
+                diskBytes -= e.getValue();
+                evicted.add(e.getKey());
+                lru.remove();
+            }
+        }
+        for (String e : evicted)
+            Files.deleteIfExists(directory.resolve(e));
+    }
+}
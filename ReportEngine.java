@@ -0,0 +1,264 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+// Builds the coordinator reports in one pass over the sessions (to learn who evaluates what) and
+// one pass over the submissions, keeping only per-session, per-evaluator and per-type aggregates.
+// Every line goes straight to the sink, so the report size is bounded by the sink, not the heap.
+public class ReportEngine {
+    public static final String EVALUATION_SUMMARY = "Evaluation Summary";
+    public static final String ATTENDANCE = "Attendance Report";
+    public static final String AWARD_WINNERS = "Award Winners";
+    public static final String SESSION_SCHEDULE = "Session Schedule";
+    public static final String SUBMISSION_LIST = "Submission List";
+    public static final String[] TYPES = { EVALUATION_SUMMARY, ATTENDANCE, AWARD_WINNERS, SESSION_SCHEDULE,
+            SUBMISSION_LIST };
+
+    private static final int BUCKETS = 10;
+    private static final int PODIUM = 3;
+
+    private static class Ranked {
+        final Submission sub;
+        final int score;
+
+        Ranked(Submission sub, int score) {
+            this.sub = sub;
+            this.score = score;
+        }
+    }
+
+    private final List<Submission> submissions;
+    private final List<Session> sessions;
+    private final ReportSink out;
+    private IntConsumer progress = percent -> {
+    };
+    private long visited;
+    private int lastPercent;
+
+    public ReportEngine(List<Submission> submissions, List<Session> sessions, ReportSink out) {
+        this.submissions = submissions;
+        this.sessions = sessions;
+        this.out = out;
+    }
+
+    // Reports 0-100 as the input rows are visited; each report reads every row about once.
+    public void setProgressListener(IntConsumer progress) {
+        this.progress = progress;
+    }
+
+    private void tick() {
+        int percent = (int) (++visited * 100 / Math.max(1, sessions.size() + submissions.size()));
+        if (percent > lastPercent && percent < 100) {
+            lastPercent = percent;
+            progress.accept(percent);
+        }
+    }
+
+    public void generate(String type) {
+        out.title(type);
+        out.line("Date: " + new Date());
+        out.line("Sessions: " + sessions.size() + "    Submissions: " + submissions.size());
+        switch (type) {
+            case EVALUATION_SUMMARY:
+                evaluationSummary();
+                break;
+            case ATTENDANCE:
+                attendance();
+                break;
+            case AWARD_WINNERS:
+                awardWinners();
+                break;
+            case SESSION_SCHEDULE:
+                sessionSchedule();
+                break;
+            case SUBMISSION_LIST:
+                submissionList();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown report type " + type);
+        }
+        out.finish();
+        progress.accept(100);
+    }
+
+    private Map<String, String> evaluatorsBySession() {
+        Map<String, String> evaluators = new HashMap<>(sessions.size() * 2);
+        for (Session s : sessions) {
+            tick();
+            evaluators.putIfAbsent(s.id(), s.evaluator());
+        }
+        return evaluators;
+    }
+
+    // Aggregates through the same ScoreStats the store keeps live, fed from this snapshot so the
+    // counts match the rows the other reports read.
+    private void evaluationSummary() {
+        Map<String, String> evaluators = evaluatorsBySession();
+        ScoreStats stats = new ScoreStats();
+        for (Submission sub : submissions) {
+            tick();
+            stats.update(sub, evaluators.getOrDefault(sub.sessionId(), Session.UNASSIGNED));
+        }
+        ScoreStats.Summary total = stats.total();
+
+        out.line("Graded: " + total.graded() + "    Pending: " + (total.submissions() - total.graded()));
+        out.line("Average score: " + format(total.mean()) + (total.graded() == 0 ? ""
+                : "    Std Dev: " + format(total.stddev()) + "    Min: " + total.min() + "    Median: "
+                        + total.percentile(0.5) + "    Max: " + total.max()));
+
+        out.table("Score distribution", "Range", "Count", "Share");
+        for (int b = 0; b < BUCKETS; b++) {
+            long count = total.countBetween(b * 10, b == BUCKETS - 1 ? 100 : b * 10 + 9);
+            out.row((b * 10) + "-" + (b == BUCKETS - 1 ? 100 : b * 10 + 9), count,
+                    total.graded() == 0 ? "-" : String.format("%.1f%%", 100.0 * count / total.graded()));
+        }
+
+        out.table("By rubric criterion", "Criterion", "Graded", "Avg Score", "Out Of");
+        for (int i = 0; i < Submission.RUBRIC.length; i++)
+            out.row(Submission.RUBRIC[i], total.rubricGraded(), format(total.rubricMean(i)), Submission.RUBRIC_MAX);
+
+        out.table("By presentation type", "Type", "Submissions", "Graded", "Avg Score", "Std Dev", "Median");
+        for (Map.Entry<String, ScoreStats.Summary> e : stats.summaries(ScoreStats.TYPE).entrySet())
+            statsRow(e.getKey(), e.getValue());
+
+        out.table("By evaluator", "Evaluator", "Submissions", "Graded", "Avg Score", "Std Dev", "Median");
+        for (Map.Entry<String, ScoreStats.Summary> e : stats.summaries(ScoreStats.EVALUATOR).entrySet())
+            statsRow(e.getKey(), e.getValue());
+
+        out.table("By session", "Session", "Evaluator", "Submissions", "Graded", "Avg Score", "Std Dev", "Median");
+        Set<String> listed = new HashSet<>();
+        for (Session session : sessions) {
+            ScoreStats.Summary s = stats.summary(ScoreStats.SESSION, session.id());
+            if (s.submissions() > 0 && listed.add(session.id()))
+                sessionRow(session.id(), evaluators.get(session.id()), s);
+        }
+        // Submissions still waiting for a session, or booked into one missing from the list.
+        for (Map.Entry<String, ScoreStats.Summary> e : stats.summaries(ScoreStats.SESSION).entrySet()) {
+            if (!listed.contains(e.getKey()))
+                sessionRow(e.getKey(), Session.UNASSIGNED, e.getValue());
+        }
+    }
+
+    private void statsRow(String key, ScoreStats.Summary s) {
+        out.row(key, s.submissions(), s.graded(), format(s.mean()), format(s.stddev()), median(s));
+    }
+
+    private void sessionRow(String session, String evaluator, ScoreStats.Summary s) {
+        out.row(session, evaluator, s.submissions(), s.graded(), format(s.mean()), format(s.stddev()), median(s));
+    }
+
+    private static String median(ScoreStats.Summary s) {
+        return s.graded() == 0 ? "-" : Integer.toString(s.percentile(0.5));
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "-" : String.format("%.1f", value);
+    }
+
+    private Map<String, Integer> bookingsBySession() {
+        Map<String, Integer> booked = new HashMap<>(sessions.size() * 2);
+        for (Submission sub : submissions) {
+            tick();
+            booked.merge(sub.sessionId(), 1, Integer::sum);
+        }
+        return booked;
+    }
+
+    private void attendance() {
+        Map<String, Integer> booked = bookingsBySession();
+        Map<String, int[]> byVenue = new LinkedHashMap<>();
+        int empty = 0;
+        int attending = 0;
+
+        out.table("By session", "Session", "Date", "Venue", "Presenters");
+        for (Session s : sessions) {
+            tick();
+            int presenters = booked.getOrDefault(s.id(), 0);
+            int[] venue = byVenue.computeIfAbsent(s.venue(), k -> new int[2]);
+            venue[0]++;
+            venue[1] += presenters;
+            attending += presenters;
+            if (presenters == 0)
+                empty++;
+            out.row(s.id(), s.date(), s.venue(), presenters);
+        }
+
+        out.table("By venue", "Venue", "Sessions", "Presenters");
+        for (Map.Entry<String, int[]> e : byVenue.entrySet())
+            out.row(e.getKey(), e.getValue()[0], e.getValue()[1]);
+
+        out.line("");
+        out.line("Presenters booked into sessions: " + attending);
+        out.line("Sessions without presenters: " + empty);
+        out.line("Submissions without a scheduled session: " + (submissions.size() - attending));
+    }
+
+    private void awardWinners() {
+        Map<String, PriorityQueue<Ranked>> podiums = new LinkedHashMap<>();
+        podiums.put("Best Oral Presentation", new PriorityQueue<>(PODIUM + 1, (a, b) -> a.score - b.score));
+        podiums.put("Best Poster Presentation", new PriorityQueue<>(PODIUM + 1, (a, b) -> a.score - b.score));
+        podiums.put("Research Excellence", new PriorityQueue<>(PODIUM + 1, (a, b) -> a.score - b.score));
+        for (Submission sub : submissions) {
+            tick();
+            int score = sub.score();
+            if (score < 0)
+                continue;
+            Ranked r = new Ranked(sub, score);
+            if (sub.type() == PresentationType.ORAL)
+                offer(podiums.get("Best Oral Presentation"), r);
+            else
+                offer(podiums.get("Best Poster Presentation"), r);
+            offer(podiums.get("Research Excellence"), r);
+        }
+
+        out.table("Top graded submissions", "Award", "Rank", "Presenter", "Score", "Title");
+        for (Map.Entry<String, PriorityQueue<Ranked>> e : podiums.entrySet()) {
+            List<Ranked> ranked = new ArrayList<>(e.getValue());
+            ranked.sort((a, b) -> b.score - a.score);
+            if (ranked.isEmpty())
+                out.row(e.getKey(), "-", "No graded submissions", "-", "-");
+            for (int i = 0; i < ranked.size(); i++) {
+                Submission sub = ranked.get(i).sub;
+                out.row(e.getKey(), i + 1, sub.presenter(), Submission.formatScore(ranked.get(i).score), sub.title());
+            }
+        }
+        out.line("");
+        out.line("People's Choice Award: selected by the coordinator on the Awards tab.");
+    }
+
+    private static void offer(PriorityQueue<Ranked> podium, Ranked r) {
+        podium.add(r);
+        if (podium.size() > PODIUM)
+            podium.poll();
+    }
+
+    private void sessionSchedule() {
+        Map<String, Integer> booked = bookingsBySession();
+        List<Session> ordered = new ArrayList<>(sessions);
+        Collections.sort(ordered, (a, b) -> Long.compare(a.start(), b.start()));
+        out.table("Sessions by date", "Session", "Date", "Venue", "Type", "Status", "Evaluator", "Presenters");
+        for (Session s : ordered) {
+            tick();
+            out.row(s.id(), s.date(), s.venue(), s.type().sessionLabel(), s.status(), s.evaluator(),
+                    booked.getOrDefault(s.id(), 0));
+        }
+    }
+
+    private void submissionList() {
+        out.table("All submissions", "Presenter", "Title", "Type", "Status", "Session", "Submitted", "Score");
+        for (Submission sub : submissions) {
+            tick();
+            Submission.Grade g = sub.grade();
+            out.row(sub.presenter(), sub.title(), sub.type(), g.status, sub.sessionId(), sub.submitted(),
+                    Submission.formatScore(g.score));
+        }
+    }
+}
@@ -0,0 +1,14 @@
+// Receives a report while it is being generated, one table row at a time, so it can be rendered
+// or written out without the whole report ever existing in memory.
+public interface ReportSink {
+    void title(String title);
+
+    void line(String text);
+
+    void table(String heading, String... columns);
+
+    void row(Object... cells);
+
+    default void finish() {
+    }
+}
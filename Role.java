@@ -0,0 +1,25 @@
+public enum Role {
+    STUDENT("Student"),
+    EVALUATOR("Evaluator"),
+    COORDINATOR("Coordinator");
+
+    private final String label;
+
+    Role(String label) {
+        this.label = label;
+    }
+
+    // The role with this label, or null.
+    public static Role of(String label) {
+        for (Role r : values()) {
+            if (r.label.equals(label))
+                return r;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
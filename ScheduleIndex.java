@@ -0,0 +1,70 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Sessions by start time per venue and per evaluator. The maps are concurrent, so conflict checks
+// read without locking while other sessions are added.
+public class ScheduleIndex {
+    public static final long WINDOW_MILLIS = 20 * 60 * 1000;
+
+    public static class Conflict {
+        public final Session session;
+        public boolean venue;
+        public boolean evaluator;
+
+        Conflict(Session session) {
+            this.session = session;
+        }
+    }
+
+    private final Map<String, NavigableMap<Long, List<Session>>> byVenue = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, List<Session>>> byEvaluator = new ConcurrentHashMap<>();
+
+    public void rebuild(Collection<Session> sessions) {
+        byVenue.clear();
+        byEvaluator.clear();
+        for (Session s : sessions)
+            add(s);
+    }
+
+    public void add(Session s) {
+        if (s.start() == Session.NO_START)
+            return;
+        insert(byVenue, s.venue(), s);
+        insert(byEvaluator, s.evaluator(), s);
+    }
+
+    public List<Conflict> conflicts(long start, String venue, String evaluator) {
+        Map<Session, Conflict> found = new IdentityHashMap<>();
+        for (List<Session> sessions : window(byVenue, venue, start)) {
+            for (Session s : sessions)
+                found.computeIfAbsent(s, Conflict::new).venue = true;
+        }
+        for (List<Session> sessions : window(byEvaluator, evaluator, start)) {
+            for (Session s : sessions)
+                found.computeIfAbsent(s, Conflict::new).evaluator = true;
+        }
+        List<Conflict> result = new ArrayList<>(found.values());
+        result.sort((a, b) -> Long.compare(a.session.start(), b.session.start()));
+        return result;
+    }
+
+    private static Collection<List<Session>> window(Map<String, NavigableMap<Long, List<Session>>> index,
+            String key, long start) {
+        NavigableMap<Long, List<Session>> times = index.get(key);
+        if (times == null)
+            return new ArrayList<>();
+        return times.subMap(start - WINDOW_MILLIS, false, start + WINDOW_MILLIS, false).values();
+    }
+
+    private static void insert(Map<String, NavigableMap<Long, List<Session>>> index, String key, Session s) {
+        index.computeIfAbsent(key, k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(s.start(), k -> new CopyOnWriteArrayList<>()).add(s);
+    }
+}
@@ -0,0 +1,232 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Running score aggregates per session, per evaluator and per presentation type, plus one over
+// everything. Each aggregate keeps a count, sum and sum of squares and a histogram with one bucket
+// per whole score 0-100, so the mean, standard deviation, extremes and exact percentiles are read
+// in constant time however many grades there are. Every row remembers what it contributed, so a
+// regrade or a booking subtracts the old contribution and adds the new one.
+//
+// Callers serialize updates per row (SeminarStore updates under the row's lock); rows in the same
+// group meet on the aggregate's monitor, and summaries are read under it without touching rows.
+public class ScoreStats {
+    public static final String SESSION = "session";
+    public static final String EVALUATOR = "evaluator";
+    public static final String TYPE = "type";
+
+    private static final int SCORES = 101;
+
+    // What one row adds to its groups.
+    private static class Contribution {
+        final String session;
+        final String evaluator;
+        final String type;
+        final int score;
+        final int[] rubric;
+
+        Contribution(Submission sub, String evaluator) {
+            Submission.Grade g = sub.grade();
+            this.session = sub.sessionId();
+            this.evaluator = evaluator;
+            this.type = sub.type().toString();
+            this.score = g.score;
+            this.rubric = g.rubricScores();
+        }
+
+        boolean sameAs(Contribution c) {
+            return score == c.score && session.equals(c.session) && evaluator.equals(c.evaluator)
+                    && type.equals(c.type) && Arrays.equals(rubric, c.rubric);
+        }
+    }
+
+    private static class Aggregate {
+        private long submissions;
+        private long count;
+        private long sum;
+        private long sumSquares;
+        private final long[] histogram = new long[SCORES];
+        private long rubricCount;
+        private final long[] rubricSums = new long[Submission.RUBRIC.length];
+
+        // sign is 1 to add the row, -1 to take it back out.
+        synchronized void apply(Contribution c, int sign) {
+            submissions += sign;
+            if (c.score < 0)
+                return;
+            count += sign;
+            sum += sign * c.score;
+            sumSquares += sign * (long) c.score * c.score;
+            histogram[Math.min(SCORES - 1, c.score)] += sign;
+            if (c.rubric != null) {
+                rubricCount += sign;
+                for (int i = 0; i < rubricSums.length; i++)
+                    rubricSums[i] += sign * c.rubric[i];
+            }
+        }
+
+        synchronized Summary summary() {
+            return new Summary(submissions, count, sum, sumSquares, histogram.clone(), rubricCount,
+                    rubricSums.clone());
+        }
+    }
+
+    // A consistent copy of one aggregate; every method is constant time.
+    public static class Summary {
+        public static final Summary EMPTY = new Summary(0, 0, 0, 0, new long[SCORES], 0,
+                new long[Submission.RUBRIC.length]);
+
+        private final long submissions;
+        private final long count;
+        private final long sum;
+        private final long sumSquares;
+        private final long[] histogram;
+        private final long rubricCount;
+        private final long[] rubricSums;
+
+        Summary(long submissions, long count, long sum, long sumSquares, long[] histogram, long rubricCount,
+                long[] rubricSums) {
+            this.submissions = submissions;
+            this.count = count;
+            this.sum = sum;
+            this.sumSquares = sumSquares;
+            this.histogram = histogram;
+            this.rubricCount = rubricCount;
+            this.rubricSums = rubricSums;
+        }
+
+        // Graded or not.
+        public long submissions() {
+            return submissions;
+        }
+
+        public long graded() {
+            return count;
+        }
+
+        public double mean() {
+            return count == 0 ? Double.NaN : (double) sum / count;
+        }
+
+        // Population standard deviation of the graded scores.
+        public double stddev() {
+            if (count == 0)
+                return Double.NaN;
+            double mean = mean();
+            return Math.sqrt(Math.max(0, (double) sumSquares / count - mean * mean));
+        }
+
+        // The lowest score at or above the given fraction (0-1) of the graded scores; -1 if none.
+        public int percentile(double fraction) {
+            if (count == 0)
+                return -1;
+            long rank = Math.max(1, (long) Math.ceil(count * fraction));
+            long seen = 0;
+            for (int s = 0; s < SCORES; s++) {
+                seen += histogram[s];
+                if (seen >= rank)
+                    return s;
+            }
+            return SCORES - 1;
+        }
+
+        public int min() {
+            return percentile(0);
+        }
+
+        public int max() {
+            return percentile(1);
+        }
+
+        // Graded scores from low to high inclusive.
+        public long countBetween(int low, int high) {
+            long n = 0;
+            for (int s = Math.max(0, low); s <= Math.min(SCORES - 1, high); s++)
+                n += histogram[s];
+            return n;
+        }
+
+        // Grades given with a per-criterion breakdown.
+        public long rubricGraded() {
+            return rubricCount;
+        }
+
+        // Mean of Submission.RUBRIC[criterion] over rubricGraded() grades.
+        public double rubricMean(int criterion) {
+            return rubricCount == 0 ? Double.NaN : (double) rubricSums[criterion] / rubricCount;
+        }
+    }
+
+    private volatile Aggregate total = new Aggregate();
+    private final Map<String, Map<String, Aggregate>> groups = new ConcurrentHashMap<>();
+    // Submissions hash by identity, as in the other indexes.
+    private final Map<Submission, Contribution> contributions = new ConcurrentHashMap<>();
+
+    public ScoreStats() {
+        groups.put(SESSION, new ConcurrentHashMap<>());
+        groups.put(EVALUATOR, new ConcurrentHashMap<>());
+        groups.put(TYPE, new ConcurrentHashMap<>());
+    }
+
+    public void rebuild(Collection<Submission> submissions, Function<Submission, String> evaluatorOf) {
+        contributions.clear();
+        total = new Aggregate();
+        for (Map<String, Aggregate> g : groups.values())
+            g.clear();
+        for (Submission sub : submissions)
+            update(sub, evaluatorOf.apply(sub));
+    }
+
+    // Called for every new, regraded or newly booked row with the evaluator of its session, or
+    // Session.UNASSIGNED.
+    public void update(Submission sub, String evaluator) {
+        Contribution c = new Contribution(sub, evaluator);
+        Contribution old = contributions.put(sub, c);
+        if (old != null) {
+            if (old.sameAs(c))
+                return;
+            apply(old, -1);
+        }
+        apply(c, 1);
+    }
+
+    private void apply(Contribution c, int sign) {
+        total.apply(c, sign);
+        aggregate(SESSION, c.session).apply(c, sign);
+        aggregate(EVALUATOR, c.evaluator).apply(c, sign);
+        aggregate(TYPE, c.type).apply(c, sign);
+    }
+
+    private Aggregate aggregate(String dimension, String key) {
+        return groups.get(dimension).computeIfAbsent(key, k -> new Aggregate());
+    }
+
+    public Summary total() {
+        return total.summary();
+    }
+
+    // One of SESSION, EVALUATOR or TYPE.
+    public Summary summary(String dimension, String key) {
+        Aggregate a = group(dimension).get(key);
+        return a == null ? Summary.EMPTY : a.summary();
+    }
+
+    // Every group of a dimension, by key.
+    public Map<String, Summary> summaries(String dimension) {
+        Map<String, Summary> result = new TreeMap<>();
+        for (Map.Entry<String, Aggregate> e : group(dimension).entrySet())
+            result.put(e.getKey(), e.getValue().summary());
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Map<String, Aggregate> group(String dimension) {
+        Map<String, Aggregate> g = groups.get(dimension);
+        if (g == null)
+            throw new IllegalArgumentException("Unknown dimension " + dimension);
+        return g;
+    }
+}
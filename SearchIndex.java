@@ -0,0 +1,217 @@
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Inverted index over the presenter, title, abstract and supervisor of every submission. Each
+// submission gets a dense document number (Submission.searchDoc); each lower-cased word maps to the
+// sorted numbers of the submissions containing it. A query word matches every indexed word it is a
+// prefix of, found by a binary search into the sorted words, and the words of a query are ANDed as
+// bit sets. Words first seen after the build go to a small sorted map that is folded into the
+// sorted array once it grows, so indexing stays a hash lookup per word.
+//
+// The index is built once in the background, since it has to read every abstract back from the
+// cold store, and is kept up to date by add() after that. Until it is built a search answers
+// Matches.BUILDING at once rather than waiting for it.
+public class SearchIndex {
+    private static class Postings {
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length)
+                docs = Arrays.copyOf(docs, size * 2);
+            docs[size++] = doc;
+        }
+    }
+
+    // The submissions matching a query when it ran.
+    public static class Matches {
+        // The answer to every query while the index is being built.
+        public static final Matches BUILDING = new Matches(new BitSet());
+
+        private final BitSet docs;
+
+        Matches(BitSet docs) {
+            this.docs = docs;
+        }
+
+        public boolean contains(Submission sub) {
+            int doc = sub.searchDoc;
+            return doc >= 0 && docs.get(doc);
+        }
+
+        public int size() {
+            return docs.cardinality();
+        }
+
+        public boolean building() {
+            return this == BUILDING;
+        }
+    }
+
+    public interface TextSource {
+        // {abstract, supervisor} of a submission.
+        String[] coldText(Submission sub) throws IOException;
+    }
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private String[] sortedTerms = new String[0];
+    private final TreeMap<String, Postings> recentTerms = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean built;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private static final int BUILD_BATCH = 256;
+    private int docs;
+
+    // Indexes every submission in the store's list that add() has not already indexed; returns at
+    // once if the index is built or another thread is building it. The list is read under the lock,
+    // after building is set, so a submission add() skipped before that is in it. The cold text is
+    // read with the lock released and each BUILD_BATCH published under it, so add() and searches
+    // wait for one batch at most, not the whole build.
+    public void build(Supplier<List<Submission>> submissions, TextSource text) throws IOException {
+        if (built || !building.compareAndSet(false, true))
+            return;
+        try {
+            List<Submission> subs;
+            lock.writeLock().lock();
+            try {
+                subs = submissions.get();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            String[][] cold = new String[BUILD_BATCH][];
+            for (int from = 0; from < subs.size(); from += BUILD_BATCH) {
+                int n = Math.min(BUILD_BATCH, subs.size() - from);
+                for (int i = 0; i < n; i++)
+                    cold[i] = text.coldText(subs.get(from + i));
+                lock.writeLock().lock();
+                try {
+                    for (int i = 0; i < n; i++)
+                        index(subs.get(from + i), cold[i][0], cold[i][1]);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            lock.writeLock().lock();
+            try {
+                sortTerms();
+                built = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            building.set(false);
+        }
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    // Called for every new submission after it is in the store's list; a no-op until a build starts.
+    public void add(Submission sub, String abstractText, String supervisor) {
+        if (!built && !building.get())
+            return;
+        lock.writeLock().lock();
+        try {
+            if (!built && !building.get())
+                return;
+            index(sub, abstractText, supervisor);
+            if (recentTerms.size() > 1024 + sortedTerms.length / 8)
+                sortTerms();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Null for a query without words; Matches.BUILDING until the index is built.
+    public Matches search(String query) {
+        Set<String> words = new HashSet<>();
+        addWords(query, words);
+        if (words.isEmpty())
+            return null;
+        if (!built)
+            return Matches.BUILDING;
+        lock.readLock().lock();
+        try {
+            BitSet result = null;
+            for (String word : words) {
+                BitSet matches = new BitSet(docs);
+                int i = Arrays.binarySearch(sortedTerms, word);
+                for (i = i < 0 ? -i - 1 : i; i < sortedTerms.length && sortedTerms[i].startsWith(word); i++)
+                    set(matches, postings.get(sortedTerms[i]));
+                for (Postings p : recentTerms.subMap(word, true, word + Character.MAX_VALUE, false).values())
+                    set(matches, p);
+                if (result == null)
+                    result = matches;
+                else
+                    result.and(matches);
+                if (result.isEmpty())
+                    break;
+            }
+            return new Matches(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void set(BitSet bits, Postings p) {
+        for (int i = 0; i < p.size; i++)
+            bits.set(p.docs[i]);
+    }
+
+    private void sortTerms() {
+        String[] sorted = postings.keySet().toArray(new String[0]);
+        Arrays.sort(sorted);
+        sortedTerms = sorted;
+        recentTerms.clear();
+    }
+
+    private void index(Submission sub, String abstractText, String supervisor) {
+        if (sub.searchDoc >= 0)
+            return;
+        int doc = docs++;
+        sub.searchDoc = doc;
+        Set<String> words = new HashSet<>();
+        addWords(sub.presenter(), words);
+        addWords(sub.title(), words);
+        addWords(abstractText, words);
+        addWords(supervisor, words);
+        for (String word : words) {
+            Postings p = postings.get(word);
+            if (p == null) {
+                p = new Postings();
+                postings.put(word, p);
+                if (built)
+                    recentTerms.put(word, p);
+            }
+            p.add(doc);
+        }
+    }
+
+    // Lower-cased runs of letters and digits.
+    static void addWords(String text, Set<String> words) {
+        if (text == null)
+            return;
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+    }
+}
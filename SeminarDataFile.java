@@ -0,0 +1,350 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+
+// Layout: fixed header [magic][version][section count][generation][section offsets...], then per
+// section [record count][record offset table][records]. A record is [field count][null mask]
+// [dictionary mask][field end offsets][bytes], so any single field can be read without decoding
+// the rest. A field in the dictionary mask holds a varint code into the DICTIONARY section, whose
+// one-field records are the distinct strings of the dictionary columns in first-use order; any
+// other field holds its UTF-8 bytes. The dictionary is decoded once on open, so every row that
+// shares a value shares one String. Version 2 files have no dictionary mask or section.
+//
+// Sections are read on demand through the channel, one at a time: open() reads the header and the
+// dictionary, and the first access to another section reads that section in place of the last, so
+// loading holds at most the largest section, not the whole file. The file is read rather than
+// mapped because a mapping stays until the buffer is collected, and on Windows an open mapping
+// makes the checkpoint's rename over this file fail; close() releases the channel before then.
+public class SeminarDataFile implements AutoCloseable {
+    public static final int USERS = 0;
+    public static final int SUBMISSIONS = 1;
+    public static final int SESSIONS = 2;
+    public static final int DICTIONARY = 3;
+
+    // The columns written as dictionary codes, only those with a handful of distinct values: the
+    // role; the type and status of a submission; the venue, type and status of a session.
+    private static final int USER_CODED = 1 << 2;
+    private static final int SUBMISSION_CODED = 1 << 2 | 1 << 3;
+    private static final int SESSION_CODED = 1 << 2 | 1 << 3 | 1 << 4;
+
+    private static final int MAGIC = 0x534D4442;
+    public static final short VERSION = 3;
+    private static final int SECTIONS = 4;
+    private static final int V2_SECTIONS = 3;
+    private static final int MAX_FIELDS = 16;
+
+    private final FileChannel ch;
+    private final long size;
+    private final short version;
+    private final long generation;
+    private final long[] sectionOffsets;
+    private final int recordHeader;
+    private final String[] dictionary;
+    // The bytes of the loaded section, which start at file position base.
+    private ByteBuffer buf;
+    private int loaded = -1;
+    private long base;
+
+    private SeminarDataFile(FileChannel ch) throws IOException {
+        this.ch = ch;
+        size = ch.size();
+        ByteBuffer header = read(0, (int) Math.min(size, headerSize(SECTIONS)));
+        if (header.capacity() < headerSize(V2_SECTIONS) || header.getInt(0) != MAGIC)
+            throw new IOException("Not a seminar data file");
+        version = header.getShort(4);
+        if (version > VERSION)
+            throw new IOException("Unsupported data file version " + version);
+        int sections = version < 3 ? V2_SECTIONS : SECTIONS;
+        if (header.getShort(6) != sections)
+            throw new IOException("Unexpected section count " + header.getShort(6));
+        generation = header.getLong(8);
+        sectionOffsets = new long[sections];
+        for (int i = 0; i < sections; i++) {
+            sectionOffsets[i] = header.getLong(16 + i * 8);
+            if (sectionOffsets[i] < headerSize(sections) || sectionOffsets[i] + 4 > size)
+                throw new IOException("Section " + i + " is outside the file");
+        }
+        recordHeader = version < 3 ? 4 : 6;
+        dictionary = version < 3 ? new String[0] : new String[count(DICTIONARY)];
+        for (int i = 0; i < dictionary.length; i++)
+            dictionary[i] = field(DICTIONARY, i, 0);
+    }
+
+    private static int headerSize(int sections) {
+        return 4 + 2 + 2 + 8 + sections * 8;
+    }
+
+    // Close it once the rows are read, before the file can be replaced.
+    public static SeminarDataFile open(Path path) throws IOException {
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new SeminarDataFile(ch);
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        buf = null;
+        loaded = -1;
+        ch.close();
+    }
+
+    // The generation alone, read from the header.
+    public static long readGeneration(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            while (header.hasRemaining() && ch.read(header) >= 0) {
+            }
+            if (header.hasRemaining() || header.getInt(0) != MAGIC)
+                throw new IOException("Not a seminar data file");
+            return header.getLong(8);
+        }
+    }
+
+    public short getVersion() {
+        return version;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int count(int section) {
+        load(section);
+        return buf.getInt(0);
+    }
+
+    public int fieldCount(int section, int record) {
+        int rec = recordOffset(section, record);
+        return buf.getShort(rec);
+    }
+
+    public String field(int section, int record, int field) {
+        int rec = recordOffset(section, record);
+        int n = buf.getShort(rec);
+        if (field >= n || (buf.getShort(rec + 2) & (1 << field)) != 0)
+            return null;
+        int offsets = rec + recordHeader;
+        int data = offsets + 4 * n;
+        int start = field == 0 ? 0 : buf.getInt(offsets + 4 * (field - 1));
+        if (recordHeader > 4 && (buf.getShort(rec + 4) & (1 << field)) != 0)
+            return dictionary[readCode(data + start)];
+        int end = buf.getInt(offsets + 4 * field);
+        byte[] bytes = new byte[end - start];
+        buf.get(data + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public String[] row(int section, int record) {
+        String[] row = new String[fieldCount(section, record)];
+        for (int i = 0; i < row.length; i++)
+            row[i] = field(section, record, i);
+        return row;
+    }
+
+    // The record's position in the loaded section, loading the section first if need be.
+    private int recordOffset(int section, int record) {
+        load(section);
+        return Math.toIntExact(buf.getLong(4 + record * 8) - base);
+    }
+
+    // A section runs to the next section or to the end of the file.
+    private void load(int section) {
+        if (loaded == section)
+            return;
+        long start = sectionOffsets[section];
+        long end = size;
+        for (long offset : sectionOffsets) {
+            if (offset > start && offset < end)
+                end = offset;
+        }
+        try {
+            buf = read(start, Math.toIntExact(end - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        base = start;
+        loaded = section;
+    }
+
+    private ByteBuffer read(long pos, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        while (bytes.hasRemaining()) {
+            if (ch.read(bytes, pos + bytes.position()) < 0)
+                throw new EOFException();
+        }
+        return bytes.flip();
+    }
+
+    private int readCode(int pos) {
+        int code = 0;
+        for (int shift = 0;; shift += 7) {
+            byte b = buf.get(pos++);
+            code |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return code;
+        }
+    }
+
+    public static void write(Path path, long generation, List<String[]> users, List<String[]> submissions,
+            List<String[]> sessions) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringDictionary dictionary = new StringDictionary();
+            Writer w = new Writer(ch, dictionary);
+            long[] sections = new long[SECTIONS];
+            w.skip(headerSize(SECTIONS));
+
+            sections[USERS] = w.position();
+            Iterator<String[]> userIt = users.iterator();
+            w.section(users.size(), userIt::next, USER_CODED);
+
+            sections[SUBMISSIONS] = w.position();
+            Iterator<String[]> subIt = submissions.iterator();
+            w.section(submissions.size(), subIt::next, SUBMISSION_CODED);
+
+            sections[SESSIONS] = w.position();
+            Iterator<String[]> sessIt = sessions.iterator();
+            w.section(sessions.size(), sessIt::next, SESSION_CODED);
+
+            sections[DICTIONARY] = w.position();
+            Iterator<String> dictIt = dictionary.strings().iterator();
+            w.section(dictionary.size(), () -> new Object[] { dictIt.next() }, 0);
+
+            w.flush();
+            ByteBuffer header = ByteBuffer.allocate(headerSize(SECTIONS));
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) SECTIONS).putLong(generation);
+            for (long s : sections)
+                header.putLong(s);
+            header.flip();
+            w.writeAt(header, 0);
+            ch.force(true);
+        }
+    }
+
+    private static class Writer {
+        private final FileChannel ch;
+        private final StringDictionary dictionary;
+        private final ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+        private long flushed;
+
+        Writer(FileChannel ch, StringDictionary dictionary) {
+            this.ch = ch;
+            this.dictionary = dictionary;
+        }
+
+        long position() {
+            return flushed + out.position();
+        }
+
+        void skip(int bytes) throws IOException {
+            flush();
+            flushed += bytes;
+        }
+
+        interface RowSource {
+            Object[] next();
+        }
+
+        void section(int count, RowSource rows, int coded) throws IOException {
+            long tableStart = position();
+            putInt(count);
+            skip(count * 8);
+            ByteBuffer table = ByteBuffer.allocate(count * 8);
+            for (int i = 0; i < count; i++) {
+                table.putLong(position());
+                record(rows.next(), coded);
+            }
+            flush();
+            table.flip();
+            writeAt(table, tableStart + 4);
+        }
+
+        void record(Object[] row, int coded) throws IOException {
+            if (row.length > MAX_FIELDS)
+                throw new IOException("Record has " + row.length + " fields, limit is " + MAX_FIELDS);
+            byte[][] fields = new byte[row.length][];
+            int mask = 0;
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] == null)
+                    mask |= 1 << i;
+                else if ((coded & (1 << i)) != 0)
+                    fields[i] = code(dictionary.code(row[i].toString()));
+                else
+                    fields[i] = row[i].toString().getBytes(StandardCharsets.UTF_8);
+            }
+            putShort((short) row.length);
+            putShort((short) mask);
+            putShort((short) (coded & ~mask & ((1 << row.length) - 1)));
+            int end = 0;
+            for (byte[] f : fields) {
+                end += f == null ? 0 : f.length;
+                putInt(end);
+            }
+            for (byte[] f : fields) {
+                if (f != null)
+                    put(f);
+            }
+        }
+
+        private static byte[] code(int code) {
+            int n = 1;
+            for (int rest = code >>> 7; rest != 0; rest >>>= 7)
+                n++;
+            byte[] bytes = new byte[n];
+            for (int i = 0; i < bytes.length - 1; i++) {
+                bytes[i] = (byte) (code & 0x7F | 0x80);
+                code >>>= 7;
+            }
+            bytes[bytes.length - 1] = (byte) code;
+            return bytes;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (out.remaining() < bytes)
+                flush();
+        }
+
+        private void putShort(short v) throws IOException {
+            ensure(2);
+            out.putShort(v);
+        }
+
+        private void putInt(int v) throws IOException {
+            ensure(4);
+            out.putInt(v);
+        }
+
+        private void put(byte[] bytes) throws IOException {
+            int off = 0;
+            while (off < bytes.length) {
+                ensure(1);
+                int n = Math.min(out.remaining(), bytes.length - off);
+                out.put(bytes, off, n);
+                off += n;
+            }
+        }
+
+        void flush() throws IOException {
+            out.flip();
+            while (out.hasRemaining())
+                flushed += ch.write(out, flushed);
+            out.clear();
+        }
+
+        void writeAt(ByteBuffer data, long pos) throws IOException {
+            while (data.hasRemaining())
+                pos += ch.write(data, pos);
+        }
+    }
+}
@@ -1,36 +1,56 @@
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.io.*;
 import java.util.*;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public class SeminarManagementSystem extends JFrame {
+    private static final long serialVersionUID = 1L;
     private CardLayout cardLayout = new CardLayout();
     private JPanel mainPanel = new JPanel(cardLayout);
     private String loggedInUser = "";
-    private String currentRole = "Student"; 
-    private java.util.Map<String, String[]> userDatabase = new java.util.HashMap<>();
-
-    private java.util.List<String[]> allSubmissions = new ArrayList<>(); 
-    private java.util.List<Object[]> allSessions = new ArrayList<>(); 
+    private Role currentRole = Role.STUDENT; 
+    private final SeminarService service = new SeminarService(
+            new SeminarStore(new File("").toPath(), this::showSaveStatus));
 
     private DefaultTableModel studentSubmissionsModel;
     private DefaultTableModel evaluatorTaskModel;
     private DefaultTableModel sessionTableModel;
-    private DefaultTableModel coordinatorAllSubmissionsModel;
-    private DefaultTableModel userManagementModel;
+    private StoreTableModel<Submission> coordinatorAllSubmissionsModel;
+    private StoreTableModel<User> userManagementModel;
     private JComboBox<String> presenterSelectionBox;
     private JComboBox<String> studentSessBox = new JComboBox<>();
-
-    private final String DATA_FILE = "seminar_data.dat";
+    private static final String SCHEDULE_LATER = "Let the coordinator schedule me";
+
+    private static final int AWARD_CANDIDATES = 100;
+    // Presenters after the selected one whose file previews are made ahead of time.
+    private static final int PREVIEW_PREFETCH = 3;
+    private final PreviewCache previews = new PreviewCache(service, new File("previews").toPath());
+    private volatile boolean dataLoaded;
+    private final List<JLabel> saveStatusLabels = new ArrayList<>();
+    // Reruns the query of each search bar; EDT only, as is searchIndexError.
+    private final List<Runnable> searchBars = new ArrayList<>();
+    private String searchIndexError;
+    private JComboBox<String> sessionEvaluatorBox = new JComboBox<>();
+    private SubmissionTableSync studentSync;
+    private SubmissionTableSync evaluatorSync;
 
     public SeminarManagementSystem() {
         setTitle("Seminar System");
         setSize(1100, 700);
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
         setLocationRelativeTo(null);
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                shutdown();
+            }
+        });
 
         studentSubmissionsModel = new DefaultTableModel(
                 new String[] { "Title", "Type", "Status", "Session", "Date", "Score", "Comment", "FullComment" }, 0) {
@@ -50,20 +70,19 @@ public class SeminarManagementSystem extends JFrame {
                 return false;
             }
         };
-        coordinatorAllSubmissionsModel = new DefaultTableModel(
-                new String[] { "User", "Title", "Type", "Status", "Session", "Score" }, 0) {
-            public boolean isCellEditable(int row, int col) {
-                return false;
-            }
-        };
-        userManagementModel = new DefaultTableModel(new String[] { "Username", "Role" }, 0) {
-            public boolean isCellEditable(int row, int col) {
-                return false;
-            }
-        };
+        // Read straight from the store's lists; populateViews() picks up the loaded rows.
+        coordinatorAllSubmissionsModel = new StoreTableModel<>(service::submissions)
+                .column("User", Submission::presenter, Submission::presenter)
+                .column("Title", Submission::title, Submission::title)
+                .column("Type", Submission::type, Submission::type)
+                .column("Status", Submission::status, Submission::status)
+                .column("Session", Submission::sessionId, Submission::sessionId)
+                .column("Score", sub -> Submission.formatScore(sub.score()), Submission::score);
+        userManagementModel = new StoreTableModel<>(service::registeredUsers)
+                .column("Username", User::username, User::username)
+                .column("Role", User::role, User::role);
         presenterSelectionBox = new JComboBox<>();
-
-        loadData(); 
+        presenterSelectionBox.addActionListener(e -> prefetchPreviews());
 
         createLoginPanel();
         createRegisterPanel();
@@ -74,58 +93,149 @@ public class SeminarManagementSystem extends JFrame {
         add(mainPanel);
         cardLayout.show(mainPanel, "LOGIN");
         setVisible(true);
+
+        showSaveStatus("Loading data...");
+        new SwingWorker<Void, Void>() {
+            protected Void doInBackground() {
+                service.load();
+                return null;
+            }
+
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    JOptionPane.showMessageDialog(SeminarManagementSystem.this,
+                            "Could not open the data files: " + e.getMessage(), "Load Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                populateViews();
+                registerViewSync();
+                dataLoaded = true;
+                buildSearchIndex();
+            }
+        }.execute();
+    }
+
+    // Reads every abstract back from the cold store, so it runs after login is possible; search
+    // bars say the index is building until then and rerun their query once it is done.
+    private void buildSearchIndex() {
+        new SwingWorker<Void, Void>() {
+            protected Void doInBackground() throws IOException {
+                service.buildSearchIndex();
+                return null;
+            }
+
+            protected void done() {
+                try {
+                    get();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    searchIndexError = e.getCause() == null ? e.toString() : e.getCause().getMessage();
+                }
+                for (Runnable r : searchBars)
+                    r.run();
+            }
+        }.execute();
+    }
+
+    private void showSaveStatus(String status) {
+        SwingUtilities.invokeLater(() -> {
+            for (JLabel label : saveStatusLabels)
+                label.setText(status);
+        });
     }
 
-    private void saveData() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(DATA_FILE))) {
-            oos.writeObject(userDatabase);
-            oos.writeObject(allSubmissions);
-            oos.writeObject(allSessions);
-        } catch (IOException e) {
-            e.printStackTrace();
+    private void shutdown() {
+        if (!dataLoaded) {
+            System.exit(0);
+            return;
         }
+        setEnabled(false);
+        showSaveStatus("Saving before exit...");
+        new Thread(() -> {
+            try {
+                service.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+            System.exit(0);
+        }, "seminar-shutdown").start();
     }
 
-    @SuppressWarnings("unchecked")
-    private void loadData() {
-        File file = new File(DATA_FILE);
-        if (file.exists()) {
-            try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-                userDatabase = (Map<String, String[]>) ois.readObject();
-                allSubmissions = (List<String[]>) ois.readObject();
-                allSessions = (List<Object[]>) ois.readObject();
-
-                for (Object[] row : allSessions) {
-                    if (row.length == 5) { 
-                        Object[] newRow = new Object[] { row[0], row[1], row[2], row[3], row[4], "Unassigned" };
-                        sessionTableModel.addRow(newRow);
-                    } else {
-                        sessionTableModel.addRow(row);
+    private void registerViewSync() {
+        studentSync = new SubmissionTableSync(studentSubmissionsModel, sub -> sub.presenter().equals(loggedInUser),
+                sub -> {
+                    Submission.Grade g = sub.grade();
+                    String fbStatus = (g.comment.equals("-") || g.comment.isEmpty()) ? "No"
+                            : "Yes (Double Click to View)";
+                    return new Object[] { sub.title(), sub.type(), g.status, sub.sessionId(), sub.submitted(),
+                            Submission.formatScore(g.score), fbStatus, g.comment };
+                });
+        evaluatorSync = new SubmissionTableSync(evaluatorTaskModel, this::isAssignedToMe,
+                sub -> new Object[] { sub.presenter(), sub.title(), sub.type(), sub.status() });
+
+        service.addListener(studentSync);
+        service.addListener(evaluatorSync);
+        service.addListener(new DataChangeListener() {
+            public void submissionAdded(Submission sub) {
+                coordinatorAllSubmissionsModel.rowsAdded();
+            }
+
+            public void submissionUpdated(Submission sub) {
+                coordinatorAllSubmissionsModel.rowChanged(sub);
+            }
+        });
+        service.addListener(new DataChangeListener() {
+            public void submissionAdded(Submission sub) {
+                if (isAssignedToMe(sub) && sub.status() == SubmissionStatus.PENDING)
+                    presenterSelectionBox.addItem(sub.presenter() + " - " + sub.title());
+            }
+
+            public void submissionUpdated(Submission sub) {
+                String item = sub.presenter() + " - " + sub.title();
+                if (sub.status() != SubmissionStatus.PENDING)
+                    presenterSelectionBox.removeItem(item);
+                else if (isAssignedToMe(sub)
+                        && ((DefaultComboBoxModel<String>) presenterSelectionBox.getModel()).getIndexOf(item) < 0)
+                    presenterSelectionBox.addItem(item); // booked by the auto scheduler
+            }
+
+            public void sessionAdded(Session session) {
+                sessionTableModel.addRow(session.toRow());
+                if (loggedInUser.equals(session.evaluator())) {
+                    for (Submission sub : service.submissionsIn(session.id())) {
+                        evaluatorSync.submissionUpdated(sub);
+                        submissionAdded(sub);
                     }
                 }
-                for (Entry<String, String[]> entry : userDatabase.entrySet()) {
-                    userManagementModel.addRow(new Object[] { entry.getKey(), entry.getValue()[1] });
-                }
-            } catch (Exception e) {
-                System.out.println("Error loading data: " + e.getMessage());
-                initializeDefaults(); 
             }
-        } else {
-            initializeDefaults();
-        }
+
+            public void userAdded(User user) {
+                userManagementModel.rowsAdded();
+                if (user.role() == Role.EVALUATOR)
+                    sessionEvaluatorBox.addItem(user.username());
+            }
+        });
+    }
+
+    private boolean isAssignedToMe(Submission sub) {
+        return currentRole == Role.EVALUATOR && service.isAssigned(loggedInUser, sub);
     }
 
-    private void initializeDefaults() {
-        userDatabase.clear();
-        userDatabase.put("student1", new String[] { "pass", "Student" });
-        userDatabase.put("eval1", new String[] { "pass", "Evaluator" });
-        userDatabase.put("coord1", new String[] { "pass", "Coordinator" });
-
-        userManagementModel.setRowCount(0);
-        userManagementModel.addRow(new Object[] { "student1", "Student" });
-        userManagementModel.addRow(new Object[] { "eval1", "Evaluator" });
-        userManagementModel.addRow(new Object[] { "coord1", "Coordinator" });
-        saveData();
+    private void populateViews() {
+        for (Session s : service.sessions()) {
+            sessionTableModel.addRow(s.toRow());
+        }
+        userManagementModel.rebuild();
+        coordinatorAllSubmissionsModel.rebuild();
+        for (User user : service.registeredUsers()) {
+            if (user.role() == Role.EVALUATOR)
+                sessionEvaluatorBox.addItem(user.username());
+        }
+        refreshStudentSessions();
     }
 
     private void createLoginPanel() {
@@ -188,27 +298,26 @@ public class SeminarManagementSystem extends JFrame {
         loginBtn.setFocusPainted(false);
         loginBtn.setPreferredSize(new Dimension(0, 45));
         loginBtn.addActionListener(e -> {
+            if (!dataLoaded) {
+                JOptionPane.showMessageDialog(this, "Still loading data, please try again in a moment.");
+                return;
+            }
             String username = userField.getText();
             String password = new String(passField.getPassword());
-            if (userDatabase.containsKey(username)) {
-                String[] credentials = userDatabase.get(username);
-                if (credentials[0].equals(password)) {
-                    loggedInUser = username;
-                    currentRole = credentials[1];
-                    refreshRoleData(); 
-                    if (currentRole.equals("Student"))
-                        cardLayout.show(mainPanel, "STUDENT");
-                    else if (currentRole.equals("Evaluator"))
-                        cardLayout.show(mainPanel, "EVALUATOR");
-                    else if (currentRole.equals("Coordinator"))
-                        cardLayout.show(mainPanel, "COORDINATOR");
-                } else {
-                    JOptionPane.showMessageDialog(this, "Incorrect password!", "Login Error",
-                            JOptionPane.ERROR_MESSAGE);
-                }
-            } else {
-                JOptionPane.showMessageDialog(this, "User not found!", "Login Error", JOptionPane.ERROR_MESSAGE);
+            try {
+                currentRole = service.login(username, password);
+            } catch (ServiceException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Login Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            loggedInUser = username;
+            refreshRoleData(); 
+            if (currentRole == Role.STUDENT)
+                cardLayout.show(mainPanel, "STUDENT");
+            else if (currentRole == Role.EVALUATOR)
+                cardLayout.show(mainPanel, "EVALUATOR");
+            else if (currentRole == Role.COORDINATOR)
+                cardLayout.show(mainPanel, "COORDINATOR");
         });
         card.add(loginBtn, gbc);
 
@@ -277,21 +386,19 @@ public class SeminarManagementSystem extends JFrame {
         registerBtn.setForeground(Color.WHITE);
         registerBtn.setPreferredSize(new Dimension(0, 45));
         registerBtn.addActionListener(e -> {
+            if (!dataLoaded) {
+                JOptionPane.showMessageDialog(this, "Still loading data, please try again in a moment.");
+                return;
+            }
             String username = userField.getText();
             String password = new String(passField.getPassword());
             String role = (String) roleBox.getSelectedItem();
-            if (username.isEmpty() || password.isEmpty()) {
-                JOptionPane.showMessageDialog(this, "Please fill all fields!");
-                return;
-            }
-            if (userDatabase.containsKey(username)) {
-                JOptionPane.showMessageDialog(this, "Username already exists!", "Registration Error",
-                        JOptionPane.ERROR_MESSAGE);
+            try {
+                service.register(username, password, role);
+            } catch (ServiceException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Registration Error", JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            userDatabase.put(username, new String[] { password, role });
-            userManagementModel.addRow(new Object[] { username, role });
-            saveData();
             JOptionPane.showMessageDialog(this, "Account created successfully!");
             cardLayout.show(mainPanel, "LOGIN");
         });
@@ -399,21 +506,45 @@ public class SeminarManagementSystem extends JFrame {
             String abst = abstractArea.getText().trim();
             String sup = supervisorField.getText().trim();
             String file = fField.getText().trim();
-            String date = new java.text.SimpleDateFormat("yyyy-MM-dd").format(new java.util.Date());
-
-            if (title.isEmpty() || abst.isEmpty() || sup.isEmpty() || file.isEmpty()
-                    || session.equals("Choose Session...")) {
-                JOptionPane.showMessageDialog(this, "Error: All fields marked with * are mandatory!",
-                        "Validation Error", JOptionPane.ERROR_MESSAGE);
+            String sessionId = session == null || session.equals("Choose Session...") ? ""
+                    : session.equals(SCHEDULE_LATER) ? Submission.NO_SESSION : session.split(" ")[0];
+            // Checked before the picked file is copied into the store, so a rejected form leaves no blob
+            // behind; the copy then runs off the event thread, as decks can be large.
+            try {
+                service.checkSubmission(loggedInUser, title, type, sessionId, abst, sup, file);
+            } catch (ServiceException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Validation Error", JOptionPane.ERROR_MESSAGE);
                 return;
             }
+            subBtn.setEnabled(false);
+            new SwingWorker<String, Void>() {
+                protected String doInBackground() throws IOException {
+                    return service.storeFile(java.nio.file.Path.of(file));
+                }
 
-            String[] sub = new String[] { loggedInUser, title, type, "Pending", session.split(" ")[0], date, "-", "-",
-                    abst, sup, file };
-            allSubmissions.add(sub);
-            saveData();
-            refreshRoleData();
-            JOptionPane.showMessageDialog(this, "Research Submitted Successfully!");
+                protected void done() {
+                    subBtn.setEnabled(true);
+                    String stored;
+                    try {
+                        stored = get();
+                    } catch (Exception ex) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        JOptionPane.showMessageDialog(SeminarManagementSystem.this,
+                                "Could not copy the presentation file: " + cause.getMessage(), "File Error",
+                                JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    try {
+                        service.submit(loggedInUser, title, type, sessionId, abst, sup, stored);
+                    } catch (ServiceException ex) {
+                        JOptionPane.showMessageDialog(SeminarManagementSystem.this, ex.getMessage(),
+                                "Validation Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    }
+                    refreshStudentSessions();
+                    JOptionPane.showMessageDialog(SeminarManagementSystem.this, "Research Submitted Successfully!");
+                }
+            }.execute();
         });
 
         regFormWrapper.add(regCard);
@@ -505,10 +636,9 @@ public class SeminarManagementSystem extends JFrame {
         rubricCard.setBorder(BorderFactory.createCompoundBorder(
                 BorderFactory.createTitledBorder("Evaluation Rubrics"),
                 BorderFactory.createEmptyBorder(15, 15, 15, 15)));
-        String[] crit = { "Problem Clarity", "Methodology", "Results Analysis", "Presentation Style" };
-        for (String c : crit) {
-            rubricCard.add(new JLabel(c + " (0-25):"));
-            rubricCard.add(new JSpinner(new SpinnerNumberModel(20, 0, 25, 1)));
+        for (String c : Submission.RUBRIC) {
+            rubricCard.add(new JLabel(c + " (0-" + Submission.RUBRIC_MAX + "):"));
+            rubricCard.add(new JSpinner(new SpinnerNumberModel(20, 0, Submission.RUBRIC_MAX, 1)));
         }
 
         JPanel commentArea = new JPanel(new BorderLayout());
@@ -540,24 +670,21 @@ public class SeminarManagementSystem extends JFrame {
             String presenter = parts[0];
             String researchTitle = parts[1];
 
-            int total = 0;
-            for (int i = 1; i < rubricCard.getComponentCount(); i += 2) {
-                total += (Integer) ((JSpinner) rubricCard.getComponent(i)).getValue();
+            int[] rubric = new int[Submission.RUBRIC.length];
+            for (int i = 0; i < rubric.length; i++) {
+                rubric[i] = (Integer) ((JSpinner) rubricCard.getComponent(2 * i + 1)).getValue();
             }
             String comments = ((JTextArea) ((JScrollPane) commentArea.getComponent(1))
                     .getViewport().getView()).getText();
 
-            for (String[] sub : allSubmissions) {
-                if (sub[0].equals(presenter) && sub[1].equals(researchTitle)) {
-                    sub[3] = "Graded";
-                    sub[6] = total + "/100";
-                    sub[7] = comments.isEmpty() ? "Good job!" : comments;
-                    break;
-                }
+            String score;
+            try {
+                score = service.grade(loggedInUser, presenter, researchTitle, rubric, comments);
+            } catch (ServiceException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(), "Evaluation Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
-            saveData();
-            refreshRoleData();
-            JOptionPane.showMessageDialog(this, "Evaluation Submitted! Final Score: " + total);
+            JOptionPane.showMessageDialog(this, "Evaluation Submitted! Final Score: " + score);
         });
         evalWrapper.add(subBtn, BorderLayout.SOUTH);
 
@@ -581,6 +708,14 @@ public class SeminarManagementSystem extends JFrame {
             }
         });
 
+        TableRowSorter<DefaultTableModel> eSorter = new TableRowSorter<>(evaluatorTaskModel);
+        eTable.setRowSorter(eSorter);
+        listWrapper.add(createSearchBar(eTable, match -> eSorter.setRowFilter(match == null ? null
+                : new RowFilter<DefaultTableModel, Integer>() {
+                    public boolean include(RowFilter.Entry<? extends DefaultTableModel, ? extends Integer> entry) {
+                        return match.test(evaluatorSync.submissionAt(entry.getIdentifier()));
+                    }
+                })), BorderLayout.NORTH);
         listWrapper.add(new JScrollPane(eTable), BorderLayout.CENTER);
         tabs.addTab("My Assigned List", listWrapper);
 
@@ -619,22 +754,20 @@ public class SeminarManagementSystem extends JFrame {
         sessionForm.add(sessionTypeBox);
 
         sessionForm.add(new JLabel("Assign Evaluator:"));
-        JComboBox<String> evalPicker = new JComboBox<>();
+        JComboBox<String> evalPicker = sessionEvaluatorBox;
         evalPicker.addItem("Select Evaluator...");
-        for (Entry<String, String[]> entry : userDatabase.entrySet()) {
-            if (entry.getValue()[1].equals("Evaluator"))
-                evalPicker.addItem(entry.getKey());
-        }
         sessionForm.add(evalPicker);
 
         JButton addSession = new JButton("Create New Session");
         addSession.setBackground(new Color(52, 152, 219));
-        sessionForm.add(new JLabel());
+        JButton autoSchedule = new JButton("Auto Schedule...");
+        autoSchedule.setToolTipText("Create sessions for every submission waiting to be scheduled");
+        autoSchedule.addActionListener(e -> autoSchedule(autoSchedule));
+        sessionForm.add(autoSchedule);
         sessionForm.add(addSession);
 
         addSession.addActionListener(e -> {
             Date selectedDate = (Date) dateSpinner.getValue();
-            String dt = new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm").format(selectedDate);
             String vn = (String) venuePicker.getSelectedItem();
             String ty = (String) sessionTypeBox.getSelectedItem();
             String ev = (String) evalPicker.getSelectedItem();
@@ -652,40 +785,14 @@ public class SeminarManagementSystem extends JFrame {
                 return;
             }
 
-            long selectedMillis = selectedDate.getTime();
-            long twentyMins = 20 * 60 * 1000;
-
-            for (Object[] s : allSessions) {
-                try {
-                    Date existingDate = new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm").parse((String) s[1]);
-                    long existingMillis = existingDate.getTime();
-                    String existingVenue = (String) s[2];
-                    String existingEval = (String) s[5];
-
-                    if (Math.abs(selectedMillis - existingMillis) < twentyMins) {
-                        if (existingVenue.equals(vn)) {
-                            JOptionPane.showMessageDialog(this,
-                                    "Conflict: Venue " + vn + " is already booked within this 20-min window!",
-                                    "Scheduling Conflict", JOptionPane.ERROR_MESSAGE);
-                            return;
-                        }
-                        if (existingEval.equals(ev)) {
-                            JOptionPane.showMessageDialog(this,
-                                    "Conflict: Evaluator " + ev
-                                            + " is already assigned to a session in this 20-min window!",
-                                    "Scheduling Conflict", JOptionPane.ERROR_MESSAGE);
-                            return;
-                        }
-                    }
-                } catch (Exception ex) {
-                }
+            try {
+                service.createSession(selectedDate.getTime(), vn, ty, ev);
+            } catch (ServiceException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage(),
+                        ex.getStatus() == ServiceException.CONFLICT ? "Scheduling Conflict" : "Input Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
             }
-
-            Object[] newSess = new Object[] { "S00" + (sessionTableModel.getRowCount() + 1), dt, vn, ty, "Scheduled",
-                    ev };
-            sessionTableModel.addRow(newSess);
-            allSessions.add(newSess);
-            saveData();
             refreshStudentSessions();
             JOptionPane.showMessageDialog(this, "New Session Created Successfully!");
         });
@@ -703,6 +810,8 @@ public class SeminarManagementSystem extends JFrame {
         resPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
         JTable resTable = new JTable(coordinatorAllSubmissionsModel);
         resTable.setRowHeight(30);
+        coordinatorAllSubmissionsModel.sortOnHeaderClick(resTable);
+        resPanel.add(createSearchBar(resTable, coordinatorAllSubmissionsModel::setFilter), BorderLayout.NORTH);
         resPanel.add(new JScrollPane(resTable), BorderLayout.CENTER);
 
         JPanel awardPanel = new JPanel(new GridLayout(2, 2, 15, 15));
@@ -731,18 +840,15 @@ public class SeminarManagementSystem extends JFrame {
 
             final int index = i;
             mBtn.addActionListener(e -> {
-                java.util.List<String> validCandidates = new ArrayList<>();
-                for (String[] s : allSubmissions) {
-                    if (index == 0 && !s[2].contains("Oral"))
-                        continue; 
-                    if (index == 1 && !s[2].contains("Poster"))
-                        continue; 
-                    validCandidates.add(s[0] + " (" + s[1] + ")");
+                String category = index == 0 ? Leaderboard.ORAL : index == 1 ? Leaderboard.POSTER : Leaderboard.ALL;
+                List<Submission> ranked = service.topCandidates(category, AWARD_CANDIDATES);
+                String[] candidates = new String[ranked.size()];
+                for (int r = 0; r < candidates.length; r++) {
+                    Submission s = ranked.get(r);
+                    candidates[r] = s.presenter() + " (" + s.title() + ") - " + s.scoreText();
                 }
-
-                String[] candidates = validCandidates.toArray(new String[0]);
                 if (candidates.length == 0) {
-                    JOptionPane.showMessageDialog(this, "No qualified submissions available for this category!");
+                    JOptionPane.showMessageDialog(this, "No graded submissions available for this category!");
                     return;
                 }
 
@@ -769,8 +875,7 @@ public class SeminarManagementSystem extends JFrame {
 
         JPanel rOptions = new JPanel(new FlowLayout(FlowLayout.LEFT));
         rOptions.add(new JLabel("Select Report Type:"));
-        String[] reports = { "Evaluation Summary", "Attendance Report", "Award Winners", "Session Schedule" };
-        JComboBox<String> rCombo = new JComboBox<>(reports);
+        JComboBox<String> rCombo = new JComboBox<>(ReportEngine.TYPES);
         rOptions.add(rCombo);
 
         JTextArea reportArea = new JTextArea(15, 50);
@@ -778,26 +883,104 @@ public class SeminarManagementSystem extends JFrame {
         reportArea.setText("=== SEMINAR SYSTEM SUMMARY ===\nSelect report type and click 'Generate'...");
         reportArea.setEditable(false);
 
+        JProgressBar reportProgress = new JProgressBar(0, 100);
+        reportProgress.setStringPainted(true);
+        reportProgress.setVisible(false);
+
         JButton genBtn = new JButton("Generate Report");
         genBtn.setBackground(new Color(46, 204, 113));
         genBtn.setForeground(Color.BLACK);
         genBtn.addActionListener(e -> {
             String type = (String) rCombo.getSelectedItem();
-            reportArea.setText("=== " + type.toUpperCase() + " ===\n" +
-                    "Date: " + new java.util.Date() + "\n" +
-                    "Status: Finalized\n" +
-                    "----------------------------------\n" +
-                    "Total Records Found: 42\n" +
-                    "Accuracy: 100%\n" +
-                    "System Verification: OK\n\n" +
-                    "Data extracted successfully for role analysis.");
+            // The service hands back fixed snapshots; the submissions themselves are shared, not duplicated.
+            List<Submission> subs = service.submissions();
+            List<Session> sessions = service.sessions();
+            genBtn.setEnabled(false);
+            reportArea.setText("");
+            SwingWorker<Void, String> worker = new SwingWorker<Void, String>() {
+                protected Void doInBackground() {
+                    ReportEngine engine = new ReportEngine(subs, sessions, new TextReportSink(this::publish));
+                    engine.setProgressListener(this::setProgress);
+                    engine.generate(type);
+                    return null;
+                }
+
+                protected void process(List<String> chunks) {
+                    for (String chunk : chunks)
+                        reportArea.append(chunk);
+                }
+
+                protected void done() {
+                    genBtn.setEnabled(true);
+                    reportProgress.setVisible(false);
+                    try {
+                        get();
+                    } catch (Exception ex) {
+                        reportArea.append("\nReport failed: " + ex.getMessage());
+                    }
+                }
+            };
+            trackProgress(worker, reportProgress);
+            worker.execute();
         });
         rOptions.add(genBtn);
 
-        JButton expBtn = new JButton("Export to PDF");
+        JButton expBtn = new JButton("Export to PDF / CSV");
         expBtn.setBackground(new Color(155, 89, 182));
         expBtn.setForeground(Color.BLACK);
+        expBtn.addActionListener(e -> {
+            String type = (String) rCombo.getSelectedItem();
+            JFileChooser chooser = new JFileChooser();
+            chooser.setAcceptAllFileFilterUsed(false);
+            chooser.addChoosableFileFilter(
+                    new javax.swing.filechooser.FileNameExtensionFilter("PDF document (*.pdf)", "pdf"));
+            chooser.addChoosableFileFilter(
+                    new javax.swing.filechooser.FileNameExtensionFilter("CSV spreadsheet (*.csv)", "csv"));
+            chooser.setSelectedFile(new File(type.replace(' ', '_') + ".pdf"));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION)
+                return;
+            File target = chooser.getSelectedFile();
+            String name = target.getName().toLowerCase();
+            boolean csv = name.endsWith(".csv")
+                    || (!name.endsWith(".pdf") && chooser.getFileFilter().getDescription().startsWith("CSV"));
+            if (!name.endsWith(".pdf") && !name.endsWith(".csv"))
+                target = new File(target.getPath() + (csv ? ".csv" : ".pdf"));
+            File file = target;
+
+            List<Submission> subs = service.submissions();
+            List<Session> sessions = service.sessions();
+            expBtn.setEnabled(false);
+            SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+                protected Void doInBackground() throws IOException {
+                    try (ChannelWriter out = new ChannelWriter(file.toPath(),
+                            csv ? java.nio.charset.StandardCharsets.UTF_8
+                                    : java.nio.charset.StandardCharsets.ISO_8859_1)) {
+                        ReportEngine engine = new ReportEngine(subs, sessions,
+                                csv ? new CsvReportSink(out) : new PdfReportSink(out));
+                        engine.setProgressListener(this::setProgress);
+                        engine.generate(type);
+                    }
+                    return null;
+                }
+
+                protected void done() {
+                    expBtn.setEnabled(true);
+                    reportProgress.setVisible(false);
+                    try {
+                        get();
+                        JOptionPane.showMessageDialog(SeminarManagementSystem.this,
+                                type + " exported to " + file.getAbsolutePath());
+                    } catch (Exception ex) {
+                        JOptionPane.showMessageDialog(SeminarManagementSystem.this,
+                                "Export failed: " + ex.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+            trackProgress(worker, reportProgress);
+            worker.execute();
+        });
         rOptions.add(expBtn);
+        rOptions.add(reportProgress);
 
         reportPanel.add(rOptions, BorderLayout.NORTH);
         reportPanel.add(new JScrollPane(reportArea), BorderLayout.CENTER);
@@ -810,103 +993,425 @@ public class SeminarManagementSystem extends JFrame {
         JPanel userPanel = new JPanel(new BorderLayout());
         JTable uTable = new JTable(userManagementModel);
         uTable.setRowHeight(30);
+        userManagementModel.sortOnHeaderClick(uTable);
         userPanel.add(new JScrollPane(uTable), BorderLayout.CENTER);
         tabs.addTab("User Role Management", userPanel);
+        tabs.addTab("Bulk Import", createImportPanel());
+        tabs.addTab("Diagnostics", createDiagnosticsPanel());
 
         panel.add(tabs, BorderLayout.CENTER);
         mainPanel.add(panel, "COORDINATOR");
     }
 
-    private void refreshRoleData() {
-        studentSubmissionsModel.setRowCount(0);
-        evaluatorTaskModel.setRowCount(0);
-        coordinatorAllSubmissionsModel.setRowCount(0);
-        presenterSelectionBox.removeAllItems();
-
-        for (String[] sub : allSubmissions) {
-            String score = sub.length > 6 ? sub[6] : "-";
-            String comments = sub.length > 7 ? sub[7] : "-";
-            String sessId = sub.length > 4 ? sub[4] : "TBD";
-
-            boolean isAssignedToMe = false;
-            for (Object[] s : allSessions) {
-                if (s[0].equals(sessId) && s.length > 5 && s[5].equals(loggedInUser)) {
-                    isAssignedToMe = true;
-                    break;
-                }
+    // The same numbers Metrics publishes over JMX, re-read every two seconds while the tab is shown.
+    private JPanel createDiagnosticsPanel() {
+        JPanel diagPanel = new JPanel(new BorderLayout(10, 10));
+        diagPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        DefaultTableModel opModel = new DefaultTableModel(
+                new String[] { "Operation", "Count", "Mean (ms)", "p50 (ms)", "p95 (ms)", "p99 (ms)", "Max (ms)" }, 0) {
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        DefaultTableModel gaugeModel = new DefaultTableModel(new String[] { "Gauge", "Value" }, 0) {
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        Runnable refresh = () -> {
+            opModel.setRowCount(0);
+            for (Metrics.OperationStats op : Metrics.SHARED.getOperations()) {
+                opModel.addRow(new Object[] { op.getName(), op.getCount(), String.format("%.3f", op.getMeanMillis()),
+                        String.format("%.3f", op.getP50Millis()), String.format("%.3f", op.getP95Millis()),
+                        String.format("%.3f", op.getP99Millis()), String.format("%.3f", op.getMaxMillis()) });
             }
+            gaugeModel.setRowCount(0);
+            for (Map.Entry<String, Long> g : Metrics.SHARED.getGauges().entrySet())
+                gaugeModel.addRow(new Object[] { g.getKey(), g.getValue() });
+        };
+
+        JPanel dOptions = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton resetBtn = new JButton("Reset Counters");
+        resetBtn.addActionListener(e -> {
+            Metrics.SHARED.reset();
+            refresh.run();
+        });
+        dOptions.add(resetBtn);
+        dOptions.add(new JLabel("Also available over JMX as " + Metrics.OBJECT_NAME));
+
+        JTable opTable = new JTable(opModel);
+        opTable.setRowHeight(25);
+        JTable gaugeTable = new JTable(gaugeModel);
+        gaugeTable.setRowHeight(25);
+        JSplitPane split = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(opTable),
+                new JScrollPane(gaugeTable));
+        split.setResizeWeight(0.6);
+
+        diagPanel.add(dOptions, BorderLayout.NORTH);
+        diagPanel.add(split, BorderLayout.CENTER);
+        new javax.swing.Timer(2000, e -> {
+            if (diagPanel.isShowing())
+                refresh.run();
+        }).start();
+        refresh.run();
+        return diagPanel;
+    }
 
-            if (sub[0].equals(loggedInUser)) {
-                String fbStatus = (comments.equals("-") || comments.isEmpty()) ? "No" : "Yes (Double Click to View)";
-                studentSubmissionsModel
-                        .addRow(new Object[] { sub[1], sub[2], sub[3], sessId, sub[5], score, fbStatus, comments });
+    // Validation runs in the background; the commit itself runs here on the EDT, as the store's
+    // listeners update the tables.
+    private JPanel createImportPanel() {
+        JPanel importPanel = new JPanel(new BorderLayout(10, 10));
+        importPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+
+        JPanel iOptions = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton importBtn = new JButton("Import CSV...");
+        importBtn.setBackground(new Color(52, 152, 219));
+        JProgressBar importProgress = new JProgressBar();
+        importProgress.setIndeterminate(true);
+        importProgress.setVisible(false);
+        iOptions.add(importBtn);
+        iOptions.add(importProgress);
+
+        JTextArea importArea = new JTextArea(15, 50);
+        importArea.setEditable(false);
+        importArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        importArea.setText("One kind of record per file, chosen by its header row:\n\n"
+                + "  username,password,role\n"
+                + "  date,venue,type,evaluator          (date as yyyy-MM-dd HH:mm)\n"
+                + "  presenter,title,type,session,abstract,supervisor,file   (session TBD: auto schedule)\n\n"
+                + "Valid rows are imported together; rows with errors are listed here by line.");
+
+        importBtn.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("CSV file (*.csv)", "csv"));
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION)
+                return;
+            File file = chooser.getSelectedFile();
+            importBtn.setEnabled(false);
+            importProgress.setVisible(true);
+            importPanel.revalidate();
+            new SwingWorker<BulkImport.Batch, Void>() {
+                protected BulkImport.Batch doInBackground() throws Exception {
+                    try (Reader in = new InputStreamReader(new FileInputStream(file),
+                            java.nio.charset.StandardCharsets.UTF_8)) {
+                        return service.parseImport(in);
+                    }
+                }
+
+                protected void done() {
+                    importBtn.setEnabled(true);
+                    importProgress.setVisible(false);
+                    BulkImport.Report report;
+                    try {
+                        report = service.commitImport(get());
+                    } catch (java.util.concurrent.ExecutionException ex) {
+                        Throwable cause = ex.getCause();
+                        JOptionPane.showMessageDialog(SeminarManagementSystem.this,
+                                "Import failed: " + cause.getMessage(), "Import Error", JOptionPane.ERROR_MESSAGE);
+                        return;
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    refreshStudentSessions();
+                    StringBuilder text = new StringBuilder();
+                    text.append(report.kind).append(" from ").append(file.getName()).append(": ")
+                            .append(report.imported).append(" of ").append(report.rows).append(" row(s) imported, ")
+                            .append(report.errors.size()).append(" rejected.\n");
+                    for (Map.Entry<Integer, String> err : report.errors.entrySet())
+                        text.append("\nLine ").append(err.getKey()).append(": ")
+                                .append(err.getValue().replace("\n", "\n    "));
+                    importArea.setText(text.toString());
+                    importArea.setCaretPosition(0);
+                }
+            }.execute();
+        });
+
+        importPanel.add(iOptions, BorderLayout.NORTH);
+        importPanel.add(new JScrollPane(importArea), BorderLayout.CENTER);
+        return importPanel;
+    }
+
+    // Asks for the days and hours to fill, plans in the background, and creates the sessions once
+    // the coordinator accepts the preview.
+    private void autoSchedule(JButton button) {
+        JSpinner daySpinner = new JSpinner(new SpinnerDateModel());
+        daySpinner.setEditor(new JSpinner.DateEditor(daySpinner, "yyyy-MM-dd"));
+        daySpinner.setValue(new Date());
+        JSpinner fromSpinner = new JSpinner(new SpinnerNumberModel(9, 0, 23, 1));
+        JSpinner toSpinner = new JSpinner(new SpinnerNumberModel(17, 1, 24, 1));
+        JPanel form = new JPanel(new GridLayout(3, 2, 10, 10));
+        form.add(new JLabel("First Day:"));
+        form.add(daySpinner);
+        form.add(new JLabel("Day Starts At (hour):"));
+        form.add(fromSpinner);
+        form.add(new JLabel("Day Ends At (hour):"));
+        form.add(toSpinner);
+        if (JOptionPane.showConfirmDialog(this, form, "Auto Schedule", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION)
+            return;
+        long firstDay = ((Date) daySpinner.getValue()).toInstant().atZone(java.time.ZoneId.systemDefault())
+                .toLocalDate().atStartOfDay(java.time.ZoneId.systemDefault()).toInstant().toEpochMilli();
+        int fromMinute = (Integer) fromSpinner.getValue() * 60;
+        int toMinute = (Integer) toSpinner.getValue() * 60;
+
+        button.setEnabled(false);
+        new SwingWorker<AutoScheduler.Plan, Void>() {
+            protected AutoScheduler.Plan doInBackground() throws Exception {
+                return service.planSchedule(firstDay, fromMinute, toMinute);
             }
 
-            if (currentRole.equals("Evaluator") && isAssignedToMe) {
-                evaluatorTaskModel.addRow(new Object[] { sub[0], sub[1], sub[2], sub[3] });
-                if (sub[3].equals("Pending"))
-                    presenterSelectionBox.addItem(sub[0] + " - " + sub[1]);
+            protected void done() {
+                button.setEnabled(true);
+                AutoScheduler.Plan plan;
+                try {
+                    plan = get();
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    JOptionPane.showMessageDialog(SeminarManagementSystem.this, ex.getCause().getMessage(),
+                            "Scheduling Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                if (plan.bookings.isEmpty()) {
+                    JOptionPane.showMessageDialog(SeminarManagementSystem.this, plan.unplaced == 0
+                            ? "No submissions are waiting to be scheduled."
+                            : "No free slots for the " + plan.unplaced + " waiting submission(s).");
+                    return;
+                }
+                showSchedulePreview(plan);
             }
+        }.execute();
+    }
 
-            coordinatorAllSubmissionsModel.addRow(new Object[] { sub[0], sub[1], sub[2], sub[3], sessId, score });
+    private void showSchedulePreview(AutoScheduler.Plan plan) {
+        DefaultTableModel preview = new DefaultTableModel(
+                new String[] { "Date", "Venue", "Type", "Evaluator", "Presenter", "Title" }, 0) {
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        for (AutoScheduler.Booking b : plan.bookings) {
+            preview.addRow(new Object[] { Session.formatStart(b.start), b.venue, b.submission.type().sessionLabel(),
+                    b.evaluator, b.submission.presenter(), b.submission.title() });
         }
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel("Create " + plan.bookings.size() + " session(s)"
+                + (plan.unplaced == 0 ? "" : "; " + plan.unplaced + " submission(s) did not fit") + "?"),
+                BorderLayout.NORTH);
+        JScrollPane scroll = new JScrollPane(new JTable(preview));
+        scroll.setPreferredSize(new Dimension(700, 350));
+        panel.add(scroll, BorderLayout.CENTER);
+        if (JOptionPane.showConfirmDialog(this, panel, "Schedule Preview", JOptionPane.OK_CANCEL_OPTION,
+                JOptionPane.PLAIN_MESSAGE) != JOptionPane.OK_OPTION)
+            return;
+
+        AutoScheduler.Report report = service.commitSchedule(plan);
         refreshStudentSessions();
+        StringBuilder msg = new StringBuilder(report.scheduled + " session(s) created.");
+        if (!report.skipped.isEmpty()) {
+            msg.append("\n\nLeft out:");
+            for (int i = 0; i < report.skipped.size() && i < 20; i++)
+                msg.append("\n").append(report.skipped.get(i));
+            if (report.skipped.size() > 20)
+                msg.append("\n... and ").append(report.skipped.size() - 20).append(" more");
+        }
+        JOptionPane.showMessageDialog(this, msg.toString());
     }
 
+    private void trackProgress(SwingWorker<?, ?> worker, JProgressBar bar) {
+        bar.setValue(0);
+        bar.setVisible(true);
+        bar.getParent().revalidate();
+        worker.addPropertyChangeListener(ev -> {
+            if ("progress".equals(ev.getPropertyName()))
+                bar.setValue((Integer) ev.getNewValue());
+        });
+    }
+
+    @SuppressWarnings("try")
+    private void refreshRoleData() {
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.REFRESH_ROLE_DATA)) {
+            Collection<Submission> assigned = currentRole == Role.EVALUATOR ? service.assignedTo(loggedInUser)
+                    : Collections.<Submission>emptyList();
+            studentSync.reset(service.submissionsOf(loggedInUser));
+            evaluatorSync.reset(assigned);
+            presenterSelectionBox.removeAllItems();
+            for (Submission sub : assigned) {
+                if (sub.status() == SubmissionStatus.PENDING)
+                    presenterSelectionBox.addItem(sub.presenter() + " - " + sub.title());
+            }
+            refreshStudentSessions();
+        }
+    }
+
+    @SuppressWarnings("try")
     private void refreshStudentSessions() {
         if (studentSessBox == null)
             return;
-        studentSessBox.removeAllItems();
-        studentSessBox.addItem("Choose Session...");
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.REFRESH_SESSIONS)) {
+            studentSessBox.removeAllItems();
+            studentSessBox.addItem("Choose Session...");
+            studentSessBox.addItem(SCHEDULE_LATER);
 
-        Set<String> takenSessions = new HashSet<>();
-        for (String[] sub : allSubmissions) {
-            takenSessions.add(sub[4]); 
+            for (Session s : service.openSessions(System.currentTimeMillis())) {
+                studentSessBox.addItem(s.id() + " (" + s.type().sessionLabel() + ") - " + s.date());
+            }
         }
+    }
 
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm");
-        java.util.Date now = new java.util.Date();
+    // The abstract, supervisor and file come from the cold store and the stored file is looked up
+    // on disk, both off the event thread.
+    private void showResearchDetail(String user, String title) {
+        java.nio.file.Path[] stored = new java.nio.file.Path[1];
+        new SwingWorker<Submission.Details, Void>() {
+            protected Submission.Details doInBackground() throws IOException, ServiceException {
+                Submission.Details d = service.detail(user, title);
+                stored[0] = service.storedFile(d);
+                return d;
+            }
 
-        for (Object[] s : allSessions) {
-            String sessID = (String) s[0];
-            String sessDateStr = (String) s[1];
+            protected void done() {
+                Submission.Details d;
+                try {
+                    d = get();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    if (!(cause instanceof ServiceException))
+                        JOptionPane.showMessageDialog(SeminarManagementSystem.this,
+                                "Could not read research details: " + cause.getMessage(), "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                showResearchDetail(user, title, d, stored[0]);
+            }
+        }.execute();
+    }
 
-            if (takenSessions.contains(sessID))
-                continue;
+    private void showResearchDetail(String user, String title, Submission.Details d, java.nio.file.Path stored) {
+        StringBuilder sb = new StringBuilder();
+        Submission s = d.submission;
+        sb.append("TITLE: ").append(s.title()).append("\n");
+        sb.append("PRESENTER: ").append(s.presenter()).append("\n");
+        sb.append("SUPERVISOR: ").append(d.supervisor != null ? d.supervisor : "N/A").append("\n");
+        sb.append("TYPE: ").append(s.type()).append("\n");
+        sb.append("STATUS: ").append(s.status()).append("\n");
+        sb.append("----------------------------------\n");
+        sb.append("ABSTRACT:\n").append(d.abstractText != null ? d.abstractText : "N/A").append("\n");
+        sb.append("----------------------------------\n");
+        if (stored != null) {
+            sb.append("FILE: ").append(BlobStore.nameOf(d.file)).append("\n");
+            sb.append("STORED AT: ").append(stored.toAbsolutePath());
+        } else {
+            sb.append("FILE PATH: ").append(d.file != null ? d.file : "N/A");
+        }
 
-            try {
-                java.util.Date sDate = sdf.parse(sessDateStr);
-                if (sDate.after(now)) {
-                    studentSessBox.addItem(sessID + " (" + s[3] + ") - " + sessDateStr);
-                }
-            } catch (Exception ex) {
+        JTextArea area = new JTextArea(sb.toString());
+        area.setEditable(false);
+        JScrollPane detailPane = new JScrollPane(area);
+        detailPane.setPreferredSize(new Dimension(360, 400));
+
+        // Filled in when the preview is ready; at once when it was prefetched.
+        JPanel previewPanel = new JPanel(new BorderLayout());
+        previewPanel.setBorder(BorderFactory.createTitledBorder("File Preview"));
+        previewPanel.setPreferredSize(new Dimension(PreviewCache.MAX_EDGE + 20, 400));
+        JLabel pending = new JLabel("Generating preview...", SwingConstants.CENTER);
+        previewPanel.add(pending, BorderLayout.CENTER);
+        previews.preview(user, title).thenAccept(p -> SwingUtilities.invokeLater(() -> {
+            previewPanel.removeAll();
+            if (p.image != null) {
+                previewPanel.add(new JScrollPane(new JLabel(new ImageIcon(p.image))), BorderLayout.CENTER);
+            } else {
+                JTextArea text = new JTextArea(p.text);
+                text.setEditable(false);
+                text.setLineWrap(true);
+                text.setWrapStyleWord(true);
+                previewPanel.add(new JScrollPane(text), BorderLayout.CENTER);
             }
+            previewPanel.revalidate();
+            previewPanel.repaint();
+        }));
+
+        JPanel content = new JPanel(new BorderLayout(10, 0));
+        content.add(detailPane, BorderLayout.CENTER);
+        content.add(previewPanel, BorderLayout.EAST);
+        JOptionPane.showMessageDialog(this, content, "Research Detail View", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    // Readies the previews of the selected presenter and the next few in the grading queue.
+    private void prefetchPreviews() {
+        int selected = Math.max(0, presenterSelectionBox.getSelectedIndex());
+        int end = Math.min(presenterSelectionBox.getItemCount(), selected + 1 + PREVIEW_PREFETCH);
+        for (int i = selected; i < end; i++) {
+            String[] parts = presenterSelectionBox.getItemAt(i).split(" - ", 2);
+            if (parts.length == 2)
+                previews.prefetch(parts[0], parts[1]);
         }
     }
 
-    private void showResearchDetail(String user, String title) {
-        for (String[] s : allSubmissions) {
-            if (s[0].equals(user) && s[1].equals(title)) {
-                StringBuilder sb = new StringBuilder();
-                sb.append("TITLE: ").append(s[1]).append("\n");
-                sb.append("PRESENTER: ").append(s[0]).append("\n");
-                sb.append("SUPERVISOR: ").append(s.length > 9 ? s[9] : "N/A").append("\n");
-                sb.append("TYPE: ").append(s[2]).append("\n");
-                sb.append("STATUS: ").append(s[3]).append("\n");
-                sb.append("----------------------------------\n");
-                sb.append("ABSTRACT:\n").append(s.length > 8 ? s[8] : "N/A").append("\n");
-                sb.append("----------------------------------\n");
-                sb.append("FILE PATH: ").append(s.length > 10 ? s[10] : "N/A");
-
-                JTextArea area = new JTextArea(sb.toString());
-                area.setEditable(false);
-                JOptionPane.showMessageDialog(this, new JScrollPane(area), "Research Detail View",
-                        JOptionPane.INFORMATION_MESSAGE);
+
+    // Filters a submissions table to the rows whose presenter, title, abstract or supervisor have a
+    // word starting with each word typed. New submissions rerun the query once per event burst.
+    // filter receives the rows to show, or null for all of them.
+    private JPanel createSearchBar(JTable table, Consumer<Predicate<Submission>> filter) {
+        JTextField searchField = new JTextField();
+        JLabel matchLabel = new JLabel(" ");
+        matchLabel.setForeground(new Color(127, 140, 141));
+
+        Runnable apply = () -> {
+            SearchIndex.Matches matches = service.search(searchField.getText());
+            if (matches == null) {
+                filter.accept(null);
+                matchLabel.setText(" ");
                 return;
             }
-        }
-    }
+            if (matches.building()) {
+                filter.accept(null);
+                matchLabel.setText(searchIndexError == null ? "Search index building..."
+                        : "Search unavailable: " + searchIndexError);
+                return;
+            }
+            filter.accept(matches::contains);
+            matchLabel.setText(table.getRowCount() + " match(es)");
+        };
+        // A large table filters in the background, so the count is taken again once it has.
+        table.getModel().addTableModelListener(e -> SwingUtilities.invokeLater(() -> {
+            if (!searchField.getText().trim().isEmpty())
+                matchLabel.setText(table.getRowCount() + " match(es)");
+        }));
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                apply.run();
+            }
 
+            public void removeUpdate(DocumentEvent e) {
+                apply.run();
+            }
+
+            public void changedUpdate(DocumentEvent e) {
+                apply.run();
+            }
+        });
+        searchBars.add(apply);
+        boolean[] queued = { false };
+        service.addListener(new DataChangeListener() {
+            public void submissionAdded(Submission sub) {
+                if (queued[0] || searchField.getText().trim().isEmpty())
+                    return;
+                queued[0] = true;
+                SwingUtilities.invokeLater(() -> {
+                    queued[0] = false;
+                    apply.run();
+                });
+            }
+        });
+
+        JPanel bar = new JPanel(new BorderLayout(10, 0));
+        bar.add(new JLabel("Search:"), BorderLayout.WEST);
+        bar.add(searchField, BorderLayout.CENTER);
+        bar.add(matchLabel, BorderLayout.EAST);
+        return bar;
+    }
 
     private JPanel createModuleHeader(String title) {
         JPanel header = new JPanel(new BorderLayout());
@@ -921,6 +1426,11 @@ public class SeminarManagementSystem extends JFrame {
         JPanel rightPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 15, 15));
         rightPanel.setOpaque(false);
 
+        JLabel saveStatus = new JLabel(BackgroundPersistence.SAVED);
+        saveStatus.setForeground(new Color(149, 165, 166));
+        saveStatus.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        saveStatusLabels.add(saveStatus);
+
         JLabel userDisplay = new JLabel("User: " + currentRole);
         userDisplay.setForeground(new Color(189, 195, 199));
         userDisplay.setFont(new Font("Segoe UI", Font.ITALIC, 13));
@@ -933,6 +1443,7 @@ public class SeminarManagementSystem extends JFrame {
         logout.setBorder(BorderFactory.createEmptyBorder(8, 20, 8, 20));
         logout.addActionListener(e -> cardLayout.show(mainPanel, "LOGIN"));
 
+        rightPanel.add(saveStatus);
         rightPanel.add(userDisplay);
         rightPanel.add(logout);
 
@@ -942,7 +1453,13 @@ public class SeminarManagementSystem extends JFrame {
         return header;
     }
 
-    public static void main(String[] args) {
+    // "--server [port]" runs the HTTP API without opening a window.
+    public static void main(String[] args) throws IOException {
+        Metrics.SHARED.register();
+        if (args.length > 0 && args[0].equals("--server")) {
+            SeminarServer.run(args.length > 1 ? Integer.parseInt(args[1]) : SeminarServer.DEFAULT_PORT);
+            return;
+        }
         SwingUtilities.invokeLater(() -> new SeminarManagementSystem());
     }
 }
@@ -0,0 +1,517 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Local HTTP/JSON front end to SeminarService, so a whole cohort can work against one store from
+// one JVM. POST /api/login returns a bearer token that expires TOKEN_TTL after login; every other
+// call except registering a Student needs it. Only a Coordinator can create Evaluator and
+// Coordinator accounts.
+//
+//   POST /api/login              {username, password}            -> {token, role}
+//   POST /api/logout
+//   POST /api/users              {username, password, role}     (Coordinator unless role is Student)
+//   GET  /api/users                                              (Coordinator)
+//   GET  /api/sessions[/open]
+//   POST /api/sessions           {date: "yyyy-MM-dd HH:mm", venue, type, evaluator}  (Coordinator)
+//   GET  /api/submissions        own rows, assigned rows or all rows, by role
+//   GET  /api/submissions/detail ?presenter=&title=
+//   POST /api/submissions        {title, type, session, abstract, supervisor, file}  (Student)
+//   POST /api/files              ?name=deck.pdf, file bytes as the body -> {file}    (Student)
+//   GET  /api/submissions/file   ?presenter=&title= -> the stored presentation file
+//   POST /api/grades             {presenter, title, score | rubric: "18,20,22,19", comment}  (Evaluator)
+//   GET  /api/stats              ?by=session|evaluator|type -> score aggregates per group  (Coordinator)
+//   POST /api/import             CSV body, see BulkImport -> {kind, rows, imported, errors} (Coordinator)
+public class SeminarServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final long TOKEN_TTL = TimeUnit.HOURS.toMillis(8);
+    private static final int THREADS = 32;
+    private static final int MAX_BODY = 1 << 20;
+
+    private static final class Login {
+        final String username;
+        final long expires;
+
+        Login(String username, long expires) {
+            this.username = username;
+            this.expires = expires;
+        }
+    }
+
+    private final SeminarService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Login> tokens = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long tokenTtl;
+
+    public SeminarServer(SeminarService service, int port) throws IOException {
+        this(service, port, TOKEN_TTL);
+    }
+
+    SeminarServer(SeminarService service, int port, long tokenTtl) throws IOException {
+        this.service = service;
+        this.tokenTtl = tokenTtl;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(THREADS, r -> {
+            Thread t = new Thread(r, "seminar-http");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+    }
+
+    public static void run(int port) throws IOException {
+        SeminarService service = new SeminarService(new SeminarStore(Path.of(""), status -> {
+        }));
+        service.load();
+        SeminarServer server = new SeminarServer(service, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                service.close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, "seminar-shutdown"));
+        server.start();
+        System.out.println("Seminar API listening on http://localhost:" + server.getPort() + "/api/");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        try {
+            route(ex, ex.getRequestMethod(), ex.getRequestURI().getPath());
+        } catch (ServiceException e) {
+            error(ex, e.getStatus(), e.getMessage());
+        } catch (IllegalArgumentException e) {
+            error(ex, ServiceException.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            e.printStackTrace();
+            error(ex, 500, "Internal error");
+        } finally {
+            ex.close();
+        }
+    }
+
+    private void route(HttpExchange ex, String method, String path) throws Exception {
+        switch (path) {
+            case "/api/login":
+                requireMethod(method, "POST");
+                login(ex);
+                return;
+            case "/api/logout":
+                requireMethod(method, "POST");
+                String token = token(ex);
+                if (token != null)
+                    tokens.remove(token);
+                send(ex, 200, "{}");
+                return;
+            case "/api/users":
+                if (method.equals("POST")) {
+                    Map<String, String> body = body(ex);
+                    if (Role.of(body.get("role")) != Role.STUDENT)
+                        requireRole(ex, Role.COORDINATOR);
+                    service.register(body.get("username"), body.get("password"), body.get("role"));
+                    send(ex, 201, "{}");
+                } else {
+                    requireMethod(method, "GET");
+                    requireRole(ex, Role.COORDINATOR);
+                    listUsers(ex);
+                }
+                return;
+            case "/api/sessions":
+                if (method.equals("POST")) {
+                    requireRole(ex, Role.COORDINATOR);
+                    createSession(ex);
+                } else {
+                    requireMethod(method, "GET");
+                    user(ex);
+                    sendSessions(ex, service.sessions());
+                }
+                return;
+            case "/api/sessions/open":
+                requireMethod(method, "GET");
+                user(ex);
+                sendSessions(ex, service.openSessions(System.currentTimeMillis()));
+                return;
+            case "/api/submissions":
+                if (method.equals("POST")) {
+                    submit(ex, requireRole(ex, Role.STUDENT));
+                } else {
+                    requireMethod(method, "GET");
+                    listSubmissions(ex);
+                }
+                return;
+            case "/api/submissions/detail":
+                requireMethod(method, "GET");
+                detail(ex);
+                return;
+            case "/api/submissions/file":
+                requireMethod(method, "GET");
+                download(ex);
+                return;
+            case "/api/files":
+                requireMethod(method, "POST");
+                requireRole(ex, Role.STUDENT);
+                upload(ex);
+                return;
+            case "/api/grades":
+                requireMethod(method, "POST");
+                grade(ex, requireRole(ex, Role.EVALUATOR));
+                return;
+            case "/api/stats":
+                requireMethod(method, "GET");
+                requireRole(ex, Role.COORDINATOR);
+                stats(ex);
+                return;
+            case "/api/import":
+                requireMethod(method, "POST");
+                requireRole(ex, Role.COORDINATOR);
+                importCsv(ex);
+                return;
+            default:
+                throw new ServiceException(ServiceException.NOT_FOUND, "No such endpoint: " + path);
+        }
+    }
+
+    private void login(HttpExchange ex) throws IOException, ServiceException {
+        Map<String, String> body = body(ex);
+        String username = body.get("username");
+        Role role = service.login(username, body.get("password"));
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(l -> l.expires <= now);
+        tokens.put(token, new Login(username, now + tokenTtl));
+        send(ex, 200, "{\"token\":" + Json.quote(token) + ",\"role\":" + Json.quote(role) + "}");
+    }
+
+    private void listUsers(HttpExchange ex) throws IOException {
+        Map<String, Role> users = service.users();
+        try (Writer out = stream(ex)) {
+            out.write('[');
+            boolean first = true;
+            for (Map.Entry<String, Role> e : users.entrySet()) {
+                if (!first)
+                    out.write(',');
+                first = false;
+                out.write("{\"username\":" + Json.quote(e.getKey()) + ",\"role\":" + Json.quote(e.getValue()) + "}");
+            }
+            out.write(']');
+        }
+    }
+
+    private void createSession(HttpExchange ex) throws IOException, ServiceException {
+        Map<String, String> body = body(ex);
+        long start = Session.parseStart(body.get("date"));
+        if (start == Session.NO_START)
+            throw new ServiceException(ServiceException.BAD_REQUEST, "date must be \"yyyy-MM-dd HH:mm\"");
+        Session session = service.createSession(start, body.get("venue"), body.get("type"), body.get("evaluator"));
+        send(ex, 201, session(session));
+    }
+
+    private void submit(HttpExchange ex, String presenter) throws IOException, ServiceException {
+        Map<String, String> body = body(ex);
+        Submission sub = service.submit(presenter, body.get("title"), body.get("type"), body.get("session"),
+                body.get("abstract"), body.get("supervisor"), body.get("file"));
+        send(ex, 201, submission(sub));
+    }
+
+    private void listSubmissions(HttpExchange ex) throws IOException, ServiceException {
+        String username = user(ex);
+        Role role = service.roleOf(username);
+        List<Submission> rows;
+        if (role == Role.COORDINATOR)
+            rows = service.submissions();
+        else if (role == Role.EVALUATOR)
+            rows = service.assignedTo(username);
+        else
+            rows = service.submissionsOf(username);
+        try (Writer out = stream(ex)) {
+            out.write('[');
+            for (int i = 0; i < rows.size(); i++) {
+                if (i > 0)
+                    out.write(',');
+                out.write(submission(rows.get(i)));
+            }
+            out.write(']');
+        }
+    }
+
+    private void detail(HttpExchange ex) throws IOException, ServiceException {
+        String username = user(ex);
+        Map<String, String> query = query(ex);
+        String presenter = query.get("presenter");
+        String title = query.get("title");
+        if (!service.canView(username, presenter, title))
+            throw new ServiceException(ServiceException.FORBIDDEN, "Not allowed to view this submission.");
+        Submission.Details d = service.detail(presenter, title);
+        String json = submission(d.submission);
+        send(ex, 200, json.substring(0, json.length() - 1) + ",\"abstract\":" + Json.quote(d.abstractText)
+                + ",\"supervisor\":" + Json.quote(d.supervisor) + ",\"file\":" + Json.quote(d.file) + "}");
+    }
+
+    // The returned reference goes in the file field of a later POST /api/submissions. The body is
+    // streamed to disk, so it is held to SeminarService.MAX_FILE_BYTES rather than the JSON limit.
+    private void upload(HttpExchange ex) throws IOException {
+        String ref;
+        try (InputStream in = ex.getRequestBody()) {
+            ref = service.storeUpload(in, query(ex).get("name"));
+        }
+        send(ex, 201, "{\"file\":" + Json.quote(ref) + "}");
+    }
+
+    private void download(HttpExchange ex) throws IOException, ServiceException {
+        String username = user(ex);
+        Map<String, String> query = query(ex);
+        String presenter = query.get("presenter");
+        String title = query.get("title");
+        if (!service.canView(username, presenter, title))
+            throw new ServiceException(ServiceException.FORBIDDEN, "Not allowed to view this submission.");
+        Submission.Details d = service.detail(presenter, title);
+        Path file = service.storedFile(d);
+        if (file == null)
+            throw new ServiceException(ServiceException.NOT_FOUND, "No stored file for this submission.");
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            String name = BlobStore.nameOf(d.file).replace("\"", "");
+            ex.getResponseHeaders().set("Content-Type", "application/octet-stream");
+            ex.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"" + name + "\"");
+            ex.sendResponseHeaders(200, size);
+            WritableByteChannel out = Channels.newChannel(ex.getResponseBody());
+            for (long pos = 0; pos < size;) {
+                long n = in.transferTo(pos, size - pos, out);
+                if (n <= 0)
+                    break;
+                pos += n;
+            }
+        }
+    }
+
+    // A rubric, one score per criterion in Submission.RUBRIC order, takes the place of the score.
+    private void grade(HttpExchange ex, String evaluator) throws IOException, ServiceException {
+        Map<String, String> body = body(ex);
+        String score;
+        if (body.get("rubric") != null) {
+            int[] rubric = Submission.parseRubric(body.get("rubric"));
+            if (rubric == null)
+                throw new ServiceException(ServiceException.BAD_REQUEST, "rubric must be " + Submission.RUBRIC.length
+                        + " comma-separated scores from 0 to " + Submission.RUBRIC_MAX);
+            score = service.grade(evaluator, body.get("presenter"), body.get("title"), rubric, body.get("comment"));
+        } else {
+            int total;
+            try {
+                total = Integer.parseInt(String.valueOf(body.get("score")));
+            } catch (NumberFormatException e) {
+                throw new ServiceException(ServiceException.BAD_REQUEST, "score must be a whole number");
+            }
+            score = service.grade(evaluator, body.get("presenter"), body.get("title"), total, body.get("comment"));
+        }
+        send(ex, 200, "{\"score\":" + Json.quote(score) + "}");
+    }
+
+    private void stats(HttpExchange ex) throws IOException, ServiceException {
+        String by = query(ex).getOrDefault("by", ScoreStats.SESSION);
+        if (!by.equals(ScoreStats.SESSION) && !by.equals(ScoreStats.EVALUATOR) && !by.equals(ScoreStats.TYPE))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "by must be session, evaluator or type");
+        ScoreStats stats = service.scoreStats();
+        try (Writer out = stream(ex)) {
+            out.write("{\"total\":" + summary(stats.total()) + ",\"" + by + "\":{");
+            boolean first = true;
+            for (Map.Entry<String, ScoreStats.Summary> e : stats.summaries(by).entrySet()) {
+                if (!first)
+                    out.write(',');
+                first = false;
+                out.write(Json.quote(e.getKey()) + ":" + summary(e.getValue()));
+            }
+            out.write("}}");
+        }
+    }
+
+    private static String summary(ScoreStats.Summary s) {
+        StringBuilder json = new StringBuilder("{\"submissions\":" + s.submissions() + ",\"graded\":" + s.graded());
+        if (s.graded() > 0) {
+            json.append(",\"mean\":").append(round(s.mean())).append(",\"stddev\":").append(round(s.stddev()))
+                    .append(",\"min\":").append(s.min()).append(",\"p50\":").append(s.percentile(0.5))
+                    .append(",\"p90\":").append(s.percentile(0.9)).append(",\"max\":").append(s.max());
+        }
+        if (s.rubricGraded() > 0) {
+            json.append(",\"rubric\":{");
+            for (int i = 0; i < Submission.RUBRIC.length; i++)
+                json.append(i == 0 ? "" : ",").append(Json.quote(Submission.RUBRIC[i])).append(':')
+                        .append(round(s.rubricMean(i)));
+            json.append('}');
+        }
+        return json.append('}').toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    // The CSV is parsed straight off the request stream, so it is not held to the JSON body limit.
+    private void importCsv(HttpExchange ex) throws IOException, ServiceException {
+        BulkImport.Batch batch;
+        try (Reader in = new InputStreamReader(ex.getRequestBody(), StandardCharsets.UTF_8)) {
+            batch = service.parseImport(in);
+        }
+        BulkImport.Report report = service.commitImport(batch);
+        try (Writer out = stream(ex)) {
+            out.write("{\"kind\":" + Json.quote(report.kind) + ",\"rows\":" + report.rows + ",\"imported\":"
+                    + report.imported + ",\"errors\":[");
+            boolean first = true;
+            for (Map.Entry<Integer, String> e : report.errors.entrySet()) {
+                if (!first)
+                    out.write(',');
+                first = false;
+                out.write("{\"line\":" + e.getKey() + ",\"error\":" + Json.quote(e.getValue()) + "}");
+            }
+            out.write("]}");
+        }
+    }
+
+    private void sendSessions(HttpExchange ex, List<Session> sessions) throws IOException {
+        try (Writer out = stream(ex)) {
+            out.write('[');
+            for (int i = 0; i < sessions.size(); i++) {
+                if (i > 0)
+                    out.write(',');
+                out.write(session(sessions.get(i)));
+            }
+            out.write(']');
+        }
+    }
+
+    private static String session(Session s) {
+        return "{\"id\":" + Json.quote(s.id()) + ",\"date\":" + Json.quote(s.date()) + ",\"venue\":"
+                + Json.quote(s.venue()) + ",\"type\":" + Json.quote(s.type().sessionLabel()) + ",\"status\":"
+                + Json.quote(s.status()) + ",\"evaluator\":" + Json.quote(s.evaluator()) + "}";
+    }
+
+    private static String submission(Submission sub) {
+        Submission.Grade g = sub.grade();
+        return "{\"presenter\":" + Json.quote(sub.presenter()) + ",\"title\":" + Json.quote(sub.title())
+                + ",\"type\":" + Json.quote(sub.type()) + ",\"status\":" + Json.quote(g.status) + ",\"session\":"
+                + Json.quote(sub.sessionId()) + ",\"date\":" + Json.quote(sub.submitted()) + ",\"score\":"
+                + Json.quote(Submission.formatScore(g.score)) + ",\"rubric\":"
+                + Json.quote(Submission.formatRubric(g.rubricScores())) + ",\"comment\":" + Json.quote(g.comment) + "}";
+    }
+
+    private String user(HttpExchange ex) throws ServiceException {
+        String token = token(ex);
+        Login login = token == null ? null : tokens.get(token);
+        if (login == null)
+            throw new ServiceException(ServiceException.UNAUTHORIZED, "Login required.");
+        if (login.expires <= System.currentTimeMillis()) {
+            tokens.remove(token, login);
+            throw new ServiceException(ServiceException.UNAUTHORIZED, "Login expired, please log in again.");
+        }
+        return login.username;
+    }
+
+    private String requireRole(HttpExchange ex, Role role) throws ServiceException {
+        String username = user(ex);
+        if (role != service.roleOf(username))
+            throw new ServiceException(ServiceException.FORBIDDEN, "Only a " + role + " can do this.");
+        return username;
+    }
+
+    private static void requireMethod(String method, String expected) throws ServiceException {
+        if (!method.equals(expected))
+            throw new ServiceException(405, "Use " + expected + " for this endpoint.");
+    }
+
+    private static String token(HttpExchange ex) {
+        String header = ex.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer "))
+            return null;
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    private static Map<String, String> body(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY + 1);
+            if (bytes.length > MAX_BODY)
+                throw new IllegalArgumentException("Request body too large");
+            return Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> params = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null)
+            return params;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, bytes.length);
+        ex.getResponseBody().write(bytes);
+    }
+
+    // Chunked response for lists, written as they are encoded rather than built up front.
+    private static Writer stream(HttpExchange ex) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(200, 0);
+        return new BufferedWriter(new OutputStreamWriter(ex.getResponseBody(), StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    private static void error(HttpExchange ex, int status, String message) throws IOException {
+        if (ex.getResponseCode() != -1)
+            return;
+        send(ex, status, "{\"error\":" + Json.quote(message) + "}");
+    }
+}
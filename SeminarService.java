@@ -0,0 +1,348 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The operations every client performs: login, registration, research submission, session
+// scheduling and grading, with their validation. The desktop window and the HTTP API both go
+// through here. There is no service-wide lock: each check-then-act operation locks the stripes of
+// the users, sessions, venues and submissions it checks (see SeminarStore.lock), so unrelated
+// clients proceed in parallel, and queries read the store's lock-free snapshots. Parameters arrive
+// as the text a form or request carries and are checked here; results are the store's own
+// User, Session and Submission objects, which the window's table sync tracks by identity.
+public class SeminarService {
+    public static final String[] ROLES = { "Student", "Evaluator", "Coordinator" };
+    public static final String[] VENUES = { "V1", "V2", "V3", "V4", "V5", "V6", "V7", "V8", "V9", "V10" };
+    public static final long MAX_FILE_BYTES = 1L << 30;
+
+    private final SeminarStore store;
+
+    public SeminarService(SeminarStore store) {
+        this.store = store;
+    }
+
+    public void load() {
+        store.load();
+    }
+
+    public void close() throws IOException, InterruptedException {
+        store.close();
+    }
+
+    public void addListener(DataChangeListener listener) {
+        store.addListener(listener);
+    }
+
+    // Returns the user's role.
+    @SuppressWarnings("try")
+    public Role login(String username, String password) throws ServiceException {
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.LOGIN)) {
+            User user = store.user(username);
+            if (user == null)
+                throw new ServiceException(ServiceException.NOT_FOUND, "User not found!");
+            if (!user.password().equals(password))
+                throw new ServiceException(ServiceException.UNAUTHORIZED, "Incorrect password!");
+            return user.role();
+        }
+    }
+
+    public Role roleOf(String username) {
+        User user = store.user(username);
+        return user == null ? null : user.role();
+    }
+
+    @SuppressWarnings("try")
+    public void register(String username, String password, String role) throws ServiceException {
+        checkUser(username, password, role);
+        try (StripedLock.Held held = store.lock(userLock(username))) {
+            if (store.user(username) != null)
+                throw new ServiceException(ServiceException.CONFLICT, "Username already exists!");
+            store.registerUser(new User(username, password, Role.of(role)));
+        }
+    }
+
+    @SuppressWarnings("try")
+    public Submission submit(String presenter, String title, String type, String sessionId,
+            String abstractText, String supervisor, String file) throws ServiceException {
+        // Trimmed once, so the lock key and duplicate check see the title the submission is stored with.
+        presenter = presenter == null ? null : store.username(presenter.trim());
+        title = title == null ? null : title.trim();
+        checkSubmission(presenter, title, type, sessionId, abstractText, supervisor, file);
+        try (StripedLock.Held held = store.lock(SubmissionIndex.key(presenter, title), sessionLock(sessionId))) {
+            if (store.findSubmission(presenter, title) != null)
+                throw new ServiceException(ServiceException.CONFLICT,
+                        "You have already submitted \"" + title + "\".");
+            if (!Submission.NO_SESSION.equals(sessionId) && !store.submissionsIn(sessionId).isEmpty())
+                throw new ServiceException(ServiceException.CONFLICT, "Session " + sessionId + " is already taken.");
+
+            Submission sub = newSubmission(presenter, title, type, sessionId, abstractText, supervisor, file);
+            store.submit(sub);
+            return sub;
+        }
+    }
+
+    @SuppressWarnings("try")
+    public Session createSession(long start, String venue, String type, String evaluator)
+            throws ServiceException {
+        checkSession(start, venue, type, evaluator);
+        evaluator = store.username(evaluator);
+        try (StripedLock.Held held = store.lock(venueLock(venue), userLock(evaluator))) {
+            List<ScheduleIndex.Conflict> conflicts = store.conflicts(start, venue, evaluator);
+            if (!conflicts.isEmpty())
+                throw new ServiceException(ServiceException.CONFLICT, conflictMessage(conflicts, venue, evaluator));
+
+            Session session = new Session(store.nextSessionId(), start, venue, PresentationType.of(type),
+                    SessionStatus.SCHEDULED, evaluator);
+            store.createSession(session);
+            return session;
+        }
+    }
+
+    // Parses and validates a CSV of users, sessions or submissions; safe to run off the UI thread.
+    public BulkImport.Batch parseImport(Reader csv) throws IOException, ServiceException {
+        return new BulkImport(this, store).parse(csv);
+    }
+
+    // Rechecks the parsed rows against the store and each other and adds the valid ones in one
+    // batched write. Store listeners fire on the calling thread.
+    public BulkImport.Report commitImport(BulkImport.Batch batch) {
+        return new BulkImport(this, store).commit(batch);
+    }
+
+    // Plans sessions for every submission still waiting for one (see AutoScheduler); safe to run
+    // off the UI thread, and writes nothing.
+    public AutoScheduler.Plan planSchedule(long firstDay, int fromMinute, int toMinute) throws ServiceException {
+        return new AutoScheduler(store).plan(firstDay, fromMinute, toMinute);
+    }
+
+    // Creates the planned sessions whose bookings still fit, in one batched write. Store listeners
+    // fire on the calling thread.
+    public AutoScheduler.Report commitSchedule(AutoScheduler.Plan plan) {
+        return new AutoScheduler(store).commit(plan);
+    }
+
+    // Returns the score as displayed, "NN/100".
+    public String grade(String evaluator, String presenter, String title, int total, String comment)
+            throws ServiceException {
+        if (total < 0 || total > 100)
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Score must be between 0 and 100.");
+        Submission sub = store.findSubmission(presenter, title);
+        if (sub == null)
+            throw new ServiceException(ServiceException.NOT_FOUND, "Submission not found!");
+        if (!store.isAssigned(evaluator, sub))
+            throw new ServiceException(ServiceException.FORBIDDEN, "You are not assigned to this presenter.");
+        store.grade(presenter, title, total, null, isBlank(comment) ? "Good job!" : comment);
+        return Submission.formatScore(total);
+    }
+
+    // Grades with one score per Submission.RUBRIC criterion, each 0-RUBRIC_MAX, kept alongside the
+    // total they add up to. Returns the total as displayed, "NN/100".
+    public String grade(String evaluator, String presenter, String title, int[] rubric, String comment)
+            throws ServiceException {
+        if (rubric == null || rubric.length != Submission.RUBRIC.length)
+            throw new ServiceException(ServiceException.BAD_REQUEST,
+                    "A score is needed for each of the " + Submission.RUBRIC.length + " criteria.");
+        int total = 0;
+        for (int i = 0; i < rubric.length; i++) {
+            if (rubric[i] < 0 || rubric[i] > Submission.RUBRIC_MAX)
+                throw new ServiceException(ServiceException.BAD_REQUEST,
+                        Submission.RUBRIC[i] + " must be between 0 and " + Submission.RUBRIC_MAX + ".");
+            total += rubric[i];
+        }
+        Submission sub = store.findSubmission(presenter, title);
+        if (sub == null)
+            throw new ServiceException(ServiceException.NOT_FOUND, "Submission not found!");
+        if (!store.isAssigned(evaluator, sub))
+            throw new ServiceException(ServiceException.FORBIDDEN, "You are not assigned to this presenter.");
+        store.grade(presenter, title, total, rubric.clone(), isBlank(comment) ? "Good job!" : comment);
+        return Submission.formatScore(total);
+    }
+
+    // Live score aggregates; reading a summary costs the same however many grades there are.
+    public ScoreStats scoreStats() {
+        return store.scoreStats();
+    }
+
+    public Map<String, Role> users() {
+        Map<String, Role> roles = new LinkedHashMap<>();
+        for (User u : store.users().values())
+            roles.put(u.username(), u.role());
+        return roles;
+    }
+
+    public List<User> registeredUsers() {
+        return store.registeredUsers();
+    }
+
+    public List<Submission> submissions() {
+        return store.submissions();
+    }
+
+    public List<Submission> submissionsOf(String presenter) {
+        return copy(store.submissionsOf(presenter));
+    }
+
+    public List<Submission> assignedTo(String evaluator) {
+        return copy(store.assignedTo(evaluator));
+    }
+
+    public List<Session> sessions() {
+        return store.sessions();
+    }
+
+    public List<Session> openSessions(long now) {
+        return store.openSessions(now);
+    }
+
+    public List<Submission> topCandidates(String category, int limit) {
+        return copy(store.topCandidates(category, limit));
+    }
+
+    // The submission with its abstract, supervisor and file path read back from the cold store.
+    public Submission.Details detail(String presenter, String title) throws ServiceException, IOException {
+        Submission sub = store.findSubmission(presenter, title);
+        if (sub == null)
+            throw new ServiceException(ServiceException.NOT_FOUND, "Submission not found!");
+        return new Submission.Details(sub, store.coldFields(sub));
+    }
+
+    // Copies a presentation file the student picked on this machine into the store and returns the
+    // reference to submit in its place (see BlobStore). Only the desktop window calls this: a path
+    // sent over the API would name a file on the server.
+    @SuppressWarnings("try")
+    public String storeFile(Path source) throws IOException {
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.FILE_INGEST)) {
+            return store.files().ingest(source);
+        }
+    }
+
+    // Streams an uploaded presentation file into the store; throws IllegalArgumentException past
+    // MAX_FILE_BYTES.
+    @SuppressWarnings("try")
+    public String storeUpload(InputStream upload, String name) throws IOException {
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.FILE_INGEST)) {
+            return store.files().ingest(upload, name, MAX_FILE_BYTES);
+        }
+    }
+
+    // The stored copy of a submission's presentation file, or null for files submitted as a bare
+    // path before the store existed.
+    public Path storedFile(Submission.Details d) {
+        return store.files().path(d.file);
+    }
+
+    public void buildSearchIndex() throws IOException {
+        store.buildSearchIndex();
+    }
+
+    public SearchIndex.Matches search(String query) {
+        return store.search(query);
+    }
+
+    public List<Submission> submissionsIn(String sessionId) {
+        return copy(store.submissionsIn(sessionId));
+    }
+
+    public boolean isAssigned(String evaluator, Submission sub) {
+        return store.isAssigned(evaluator, sub);
+    }
+
+    // Coordinators see everything, students their own rows, evaluators the rows assigned to them.
+    public boolean canView(String username, String presenter, String title) {
+        Role role = roleOf(username);
+        if (role == Role.COORDINATOR || username.equals(presenter))
+            return true;
+        Submission sub = store.findSubmission(presenter, title);
+        return role == Role.EVALUATOR && sub != null && store.isAssigned(username, sub);
+    }
+
+    // Field checks shared with BulkImport. They read only what never changes once written (users
+    // and their roles, session IDs), so they need no locks and can run on any thread.
+    static void checkUser(String username, String password, String role) throws ServiceException {
+        if (isBlank(username) || isBlank(password))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Please fill all fields!");
+        if (!isOneOf(role, ROLES))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Unknown role: " + role);
+    }
+
+    void checkSubmission(String presenter, String title, String type, String sessionId, String abstractText,
+            String supervisor, String file) throws ServiceException {
+        if (isBlank(title) || isBlank(abstractText) || isBlank(supervisor) || isBlank(file) || isBlank(sessionId))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Error: All fields marked with * are mandatory!");
+        if (roleOf(presenter) != Role.STUDENT)
+            throw new ServiceException(ServiceException.FORBIDDEN, "Only students can submit research.");
+        if (!isOneOf(type, new String[] { "Oral Presentation", "Poster Presentation" }))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Unknown presentation type: " + type);
+        if (!Submission.NO_SESSION.equals(sessionId) && !store.sessionExists(sessionId))
+            throw new ServiceException(ServiceException.NOT_FOUND, "Session " + sessionId + " does not exist.");
+        if (BlobStore.isRef(file.trim()) && store.files().path(file.trim()) == null)
+            throw new ServiceException(ServiceException.BAD_REQUEST, "The presentation file has not been uploaded.");
+    }
+
+    void checkSession(long start, String venue, String type, String evaluator) throws ServiceException {
+        if (isBlank(evaluator))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Error: Please assign an evaluator!");
+        if (roleOf(evaluator) != Role.EVALUATOR)
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Unknown evaluator: " + evaluator);
+        if (!isOneOf(venue, VENUES))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Unknown venue: " + venue);
+        if (!isOneOf(type, new String[] { "Oral", "Poster" }))
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Unknown session type: " + type);
+        if (start < System.currentTimeMillis())
+            throw new ServiceException(ServiceException.BAD_REQUEST, "Error: Cannot schedule a session in the past!");
+    }
+
+    static String conflictMessage(List<ScheduleIndex.Conflict> conflicts, String venue, String evaluator) {
+        StringBuilder msg = new StringBuilder("Conflict: " + conflicts.size()
+                + " session(s) clash within this 20-min window:\n");
+        for (ScheduleIndex.Conflict c : conflicts) {
+            msg.append("\n").append(c.session.id()).append(" at ").append(c.session.venue()).append(" on ")
+                    .append(c.session.date());
+            if (c.venue)
+                msg.append(" - Venue ").append(venue).append(" is already booked");
+            if (c.evaluator)
+                msg.append(" - Evaluator ").append(evaluator).append(" is already assigned");
+        }
+        return msg.toString();
+    }
+
+    static Submission newSubmission(String presenter, String title, String type, String sessionId,
+            String abstractText, String supervisor, String file) {
+        return new Submission(presenter, title.trim(), PresentationType.of(type), sessionId, LocalDate.now(),
+                abstractText.trim(), supervisor.trim(), file.trim());
+    }
+
+    static String userLock(String username) {
+        return "user:" + username;
+    }
+
+    static String sessionLock(String sessionId) {
+        return "session:" + sessionId;
+    }
+
+    static String venueLock(String venue) {
+        return "venue:" + venue;
+    }
+
+    private static List<Submission> copy(Collection<Submission> rows) {
+        return new ArrayList<>(rows);
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.trim().isEmpty();
+    }
+
+    private static boolean isOneOf(String value, String[] allowed) {
+        for (String a : allowed) {
+            if (a.equals(value))
+                return true;
+        }
+        return false;
+    }
+}
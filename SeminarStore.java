@@ -0,0 +1,624 @@
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Headless owner of users, submissions and sessions, their indexes and persistence. The Swing
+// frame is one client: it mutates through the public operations and mirrors changes through
+// DataChangeListener, so none of this needs a display to run or to be benchmarked.
+//
+// Safe for concurrent use once load() has returned. Reads never lock: users sit in a concurrent
+// map, submissions and sessions in append-only lists whose snapshots stay fixed while others
+// append, and every index is concurrent. Writers lock only what they touch: grading takes the
+// submission's stripe, and compound check-then-act operations (SeminarService) take the stripes of
+// every entity they check through lock(). Mutations share a read lock that checkpoint() takes
+// exclusively for the instant it copies the rows, so a snapshot never lands between a change and
+// its journal entry, and every change is journaled before any reader can see it.
+//
+// The files keep the string layouts of the original rows (see User, Session and Submission
+// toFields/fromFields); dates, scores and enums are parsed once here, on load and replay.
+public class SeminarStore {
+    public static final String DATA_FILE = "seminar_data.bin";
+    public static final String LEGACY_DATA_FILE = "seminar_data.dat";
+    public static final String JOURNAL_FILE = "seminar_data.journal";
+    public static final String COLD_FILE = "seminar_cold.dat";
+    public static final String FILES_DIR = "files";
+    public static final int CHECKPOINT_INTERVAL = 500;
+
+    private final Path directory;
+    private final Consumer<String> status;
+    private final Map<String, User> userDatabase = new ConcurrentHashMap<>();
+    // The users by name as loaded, then in registration order; filled once load() is done, as a
+    // failed read starts the map over.
+    private final AppendOnlyList<User> allUsers = new AppendOnlyList<>();
+    private volatile boolean loaded;
+    private final AppendOnlyList<Submission> allSubmissions = new AppendOnlyList<>();
+    private final AppendOnlyList<Session> allSessions = new AppendOnlyList<>();
+    private final SubmissionIndex submissionIndex = new SubmissionIndex();
+    private final AssignmentIndex assignmentIndex = new AssignmentIndex(submissionIndex);
+    private final ScheduleIndex scheduleIndex = new ScheduleIndex();
+    private final OpenSessionIndex openSessionIndex = new OpenSessionIndex();
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final ScoreStats scoreStats = new ScoreStats();
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final List<DataChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final StripedLock locks = new StripedLock(StripedLock.DEFAULT_STRIPES);
+    private final ReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private BackgroundPersistence persistence;
+    private ColdFieldStore coldFields;
+    private BlobStore files;
+    private long generation;
+
+    public SeminarStore(Path directory, Consumer<String> status) {
+        this.directory = directory;
+        this.status = status;
+    }
+
+    public void addListener(DataChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @SuppressWarnings("try")
+    public void load() {
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.LOAD)) {
+            loadFiles();
+        }
+        List<User> users = new ArrayList<>(userDatabase.values());
+        users.sort((a, b) -> a.username().compareTo(b.username()));
+        for (User u : users)
+            allUsers.add(u);
+        loaded = true;
+        Metrics.SHARED.gauge("users", userDatabase::size);
+        Metrics.SHARED.gauge("sessions", allSessions::size);
+        Metrics.SHARED.gauge("submissions", allSubmissions::size);
+        Metrics.SHARED.gauge("openSessions", openSessionIndex::size);
+        Metrics.SHARED.gauge("journalRecords", persistence::recordsSinceCheckpoint);
+        Metrics.SHARED.gauge("dataFileBytes", () -> fileSize(DATA_FILE));
+        Metrics.SHARED.gauge("journalFileBytes", () -> fileSize(JOURNAL_FILE));
+        Metrics.SHARED.gauge("coldFileBytes", () -> fileSize(COLD_FILE));
+    }
+
+    private long fileSize(String name) {
+        try {
+            return Files.size(directory.resolve(name));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void loadFiles() {
+        Path file = directory.resolve(DATA_FILE);
+        Path legacy = directory.resolve(LEGACY_DATA_FILE);
+        ChangeJournal journal;
+        try {
+            Path cold = directory.resolve(COLD_FILE);
+            ColdFieldStore.recover(cold, Files.exists(file) ? SeminarDataFile.readGeneration(file) : -1);
+            journal = new ChangeJournal(directory.resolve(JOURNAL_FILE));
+            coldFields = new ColdFieldStore(cold);
+            files = new BlobStore(directory.resolve(FILES_DIR));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        boolean checkpoint = true;
+        if (Files.exists(file) || Files.exists(legacy)) {
+            try {
+                if (Files.exists(file))
+                    readDataFile(file);
+                else
+                    readLegacyDataFile(legacy);
+                submissionIndex.rebuild(allSubmissions.snapshot());
+                assignmentIndex.rebuild(allSessions.snapshot(), allSubmissions.snapshot());
+                scheduleIndex.rebuild(allSessions.snapshot());
+                openSessionIndex.rebuild(allSessions.snapshot(), s -> !submissionIndex.bySession(s.id()).isEmpty());
+                leaderboard.rebuild(allSubmissions.snapshot());
+                scoreStats.rebuild(allSubmissions.snapshot(), this::evaluatorOf);
+
+                int replayed = journal.replay(generation, this::applyChange);
+                // Cold fields detached while loading, from an older snapshot or journal entry, are
+                // appended again by every load until a snapshot holds their offsets.
+                checkpoint = !Files.exists(file) || replayed >= CHECKPOINT_INTERVAL || coldFields.hasPending();
+                if (checkpoint)
+                    compactColdFields();
+            } catch (Exception e) {
+                // Nothing is written: the snapshot and journal stay as they were for the next attempt,
+                // rather than a checkpoint of whatever was half read replacing them.
+                closeQuietly(journal);
+                closeQuietly(coldFields);
+                throw new IllegalStateException("Error loading data: " + e, e);
+            }
+        } else {
+            initializeDefaults();
+        }
+        sessionCount.set(allSessions.size());
+        persistence = new BackgroundPersistence(journal, coldFields, file, generation, status);
+        if (checkpoint)
+            checkpoint();
+        else
+            status.accept(BackgroundPersistence.SAVED);
+    }
+
+    // Only at load, before anything else uses the cold file; the checkpoint that follows is of the
+    // next generation and holds the new offsets.
+    private void compactColdFields() throws IOException {
+        List<Submission> subs = allSubmissions.snapshot();
+        coldFields.flush();
+        if (coldFields.garbage(subs) * 4 > coldFields.size())
+            coldFields.compact(subs, generation + 1);
+    }
+
+    private static void closeQuietly(AutoCloseable c) {
+        try {
+            c.close();
+        } catch (Exception e) {
+            System.out.println("Error closing after a failed load: " + e.getMessage());
+        }
+    }
+
+    public void checkpoint() {
+        checkpointLock.writeLock().lock();
+        try {
+            persistence.checkpoint(userDatabase.values(), allSubmissions.snapshot(), allSessions.snapshot());
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    // Locks the stripes of the given entity keys until the returned handle is closed. Callers pass
+    // every key up front (see StripedLock); a submission's key is SubmissionIndex.key().
+    public StripedLock.Held lock(String... keys) {
+        return locks.lock(keys);
+    }
+
+    // Session IDs run S001, S002, ... in creation order and are never handed out twice.
+    public String nextSessionId() {
+        return "S00" + sessionCount.incrementAndGet();
+    }
+
+    public void close() throws IOException, InterruptedException {
+        openSessionIndex.close();
+        if (persistence != null)
+            persistence.close();
+    }
+
+    public void registerUser(User user) {
+        checkpointLock.readLock().lock();
+        try {
+            persistence.record(ChangeJournal.ADD_USER, user.toFields());
+            addUser(user);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    // The cold fields are detached before the submission is recorded, so the flush that journals
+    // it has written them and the entry holds their offset (see BackgroundPersistence).
+    public void submit(Submission sub) {
+        checkpointLock.readLock().lock();
+        try {
+            String[] fields = sub.toFields();
+            coldFields.detach(sub);
+            persistence.recordAll(Collections.singletonList(BackgroundPersistence.submissionEntry(sub, fields)));
+            addDetached(sub, fields);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    public void createSession(Session session) {
+        checkpointLock.readLock().lock();
+        try {
+            persistence.record(ChangeJournal.ADD_SESSION, session.toFields());
+            addSession(session);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    // rubric is null for a grade given as a bare total.
+    @SuppressWarnings("try")
+    public boolean grade(String presenter, String title, int score, int[] rubric, String comment) {
+        try (StripedLock.Held held = locks.lock(SubmissionIndex.key(presenter, title))) {
+            checkpointLock.readLock().lock();
+            try {
+                if (submissionIndex.get(presenter, title) == null)
+                    return false;
+                persistence.record(ChangeJournal.GRADE, presenter, title, Submission.formatScore(score), comment,
+                        Submission.formatRubric(rubric));
+                applyGrade(presenter, title, score, rubric, comment);
+            } finally {
+                checkpointLock.readLock().unlock();
+            }
+        }
+        checkpointIfDue();
+        return true;
+    }
+
+    // Adds imported users, sessions and submissions in one go: every one is journaled in a single
+    // batch, and a large import ends in one snapshot write instead of a stream of journal appends.
+    public void importBatch(List<User> users, List<Session> sessions, List<Submission> submissions) {
+        List<ChangeJournal.Entry> entries = new ArrayList<>(users.size() + sessions.size() + submissions.size());
+        for (User u : users)
+            entries.add(new ChangeJournal.Entry(ChangeJournal.ADD_USER, u.toFields()));
+        for (Session s : sessions)
+            entries.add(new ChangeJournal.Entry(ChangeJournal.ADD_SESSION, s.toFields()));
+        if (entries.isEmpty() && submissions.isEmpty())
+            return;
+        checkpointLock.readLock().lock();
+        try {
+            List<String[]> fields = new ArrayList<>(submissions.size());
+            for (Submission sub : submissions) {
+                fields.add(sub.toFields());
+                coldFields.detach(sub);
+                entries.add(BackgroundPersistence.submissionEntry(sub, fields.get(fields.size() - 1)));
+            }
+            persistence.recordAll(entries);
+            for (User u : users)
+                addUser(u);
+            for (Session s : sessions)
+                addSession(s);
+            for (int i = 0; i < submissions.size(); i++)
+                addDetached(submissions.get(i), fields.get(i));
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    // Creates the sessions and books presenters.get(i) into sessions.get(i), all journaled as one
+    // batch. Callers hold the stripes of every submission, venue and evaluator involved and have
+    // checked that each submission is still unscheduled (see AutoScheduler).
+    public void schedule(List<Session> sessions, List<Submission> presenters) {
+        if (sessions.isEmpty())
+            return;
+        List<ChangeJournal.Entry> entries = new ArrayList<>(sessions.size() * 2);
+        for (Session s : sessions)
+            entries.add(new ChangeJournal.Entry(ChangeJournal.ADD_SESSION, s.toFields()));
+        for (int i = 0; i < sessions.size(); i++) {
+            Submission sub = presenters.get(i);
+            entries.add(new ChangeJournal.Entry(ChangeJournal.SCHEDULE,
+                    new String[] { sub.presenter(), sub.title(), sessions.get(i).id() }));
+        }
+        checkpointLock.readLock().lock();
+        try {
+            persistence.recordAll(entries);
+            for (Session s : sessions)
+                addSession(s);
+            for (int i = 0; i < sessions.size(); i++)
+                applySchedule(presenters.get(i), sessions.get(i).id());
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        checkpointIfDue();
+    }
+
+    public User user(String username) {
+        return userDatabase.get(username);
+    }
+
+    // The registered user's own instance of the name, so the rows naming a user share one String
+    // with it; the name itself for anyone not registered.
+    public String username(String name) {
+        User user = name == null ? null : userDatabase.get(name);
+        return user == null ? name : user.username();
+    }
+
+    // Points a stored row's presenter or evaluator column at username(); users are read first.
+    private void internUsername(Object[] row, int column) {
+        if (row.length > column && row[column] instanceof String)
+            row[column] = username((String) row[column]);
+    }
+
+    public Map<String, User> users() {
+        return Collections.unmodifiableMap(userDatabase);
+    }
+
+    // Every user as a fixed, indexable snapshot (see allUsers).
+    public List<User> registeredUsers() {
+        return allUsers.snapshot();
+    }
+
+    // Fixed snapshots: submissions and sessions added afterwards do not show up in them.
+    public List<Submission> submissions() {
+        return allSubmissions.snapshot();
+    }
+
+    public List<Session> sessions() {
+        return allSessions.snapshot();
+    }
+
+    public Submission findSubmission(String presenter, String title) {
+        return submissionIndex.get(presenter, title);
+    }
+
+    public Collection<Submission> submissionsOf(String presenter) {
+        return submissionIndex.byPresenter(presenter);
+    }
+
+    public Collection<Submission> assignedTo(String evaluator) {
+        return assignmentIndex.assignedTo(evaluator);
+    }
+
+    public boolean isAssigned(String evaluator, Submission sub) {
+        return assignmentIndex.isAssigned(evaluator, sub);
+    }
+
+    public boolean sessionExists(String sessionId) {
+        return assignmentIndex.evaluatorOf(sessionId) != null;
+    }
+
+    public Collection<Submission> submissionsIn(String sessionId) {
+        return submissionIndex.bySession(sessionId);
+    }
+
+    // {abstract, supervisor, file}
+    public String[] coldFields(Submission sub) throws IOException {
+        return coldFields.get(sub);
+    }
+
+    // Presentation files submitted through the service, by content hash.
+    public BlobStore files() {
+        return files;
+    }
+
+    // Graded submissions of an award category (see Leaderboard), best score first.
+    public List<Submission> topCandidates(String category, int limit) {
+        return leaderboard.top(category, limit);
+    }
+
+    // Running score aggregates by session, evaluator and type, kept current on every grade.
+    public ScoreStats scoreStats() {
+        return scoreStats;
+    }
+
+    // Reads every abstract and supervisor back from the cold store, so clients run it off their
+    // request or event threads once the data is loaded. Later submissions are indexed as they arrive.
+    public void buildSearchIndex() throws IOException {
+        searchIndex.build(allSubmissions::snapshot, sub -> coldFields.get(sub));
+    }
+
+    // Submissions whose presenter, title, abstract or supervisor contain a word starting with each
+    // word of the query; null for a blank query, SearchIndex.Matches.BUILDING until
+    // buildSearchIndex() has finished. Never waits for the build.
+    public SearchIndex.Matches search(String query) {
+        return searchIndex.search(query);
+    }
+
+    @SuppressWarnings("try")
+    public List<ScheduleIndex.Conflict> conflicts(long start, String venue, String evaluator) {
+        try (Metrics.Timing t = Metrics.SHARED.time(Metrics.CONFLICT_CHECK)) {
+            return scheduleIndex.conflicts(start, venue, evaluator);
+        }
+    }
+
+    // Pending submissions made without a session, in submission order.
+    public List<Submission> unscheduled() {
+        List<Submission> result = new ArrayList<>();
+        for (Submission sub : allSubmissions.snapshot()) {
+            if (!sub.isScheduled() && sub.status() == SubmissionStatus.PENDING)
+                result.add(sub);
+        }
+        return result;
+    }
+
+    // Sessions after now that no submission has booked yet, earliest first.
+    public List<Session> openSessions(long now) {
+        return openSessionIndex.after(now);
+    }
+
+    private void checkpointIfDue() {
+        if (persistence.recordsSinceCheckpoint() >= CHECKPOINT_INTERVAL)
+            checkpoint();
+    }
+
+    private void applyChange(byte op, String[] f) {
+        switch (op) {
+            case ChangeJournal.ADD_USER:
+                User user = userOf(f);
+                if (user != null)
+                    addUser(user);
+                break;
+            case ChangeJournal.ADD_SUBMISSION:
+                internUsername(f, 0);
+                Submission added = Submission.fromFields(f);
+                if (f.length > ColdFieldStore.JOURNAL_REF && f[ColdFieldStore.JOURNAL_REF] != null)
+                    coldFields.attach(added, Long.parseLong(f[ColdFieldStore.JOURNAL_REF]));
+                addSubmission(added);
+                break;
+            case ChangeJournal.ADD_SESSION:
+                internUsername(f, 5);
+                addSession(Session.fromFields(f));
+                break;
+            case ChangeJournal.GRADE:
+                applyGrade(f[0], f[1], Submission.parseScore(f[2]), f.length > 4 ? Submission.parseRubric(f[4]) : null,
+                        f[3]);
+                break;
+            case ChangeJournal.SCHEDULE:
+                Submission sub = submissionIndex.get(f[0], f[1]);
+                if (sub != null && !sub.isScheduled())
+                    applySchedule(sub, f[2]);
+                break;
+        }
+    }
+
+    private void addUser(User user) {
+        userDatabase.put(user.username(), user);
+        if (loaded)
+            allUsers.add(user);
+        for (DataChangeListener l : changeListeners)
+            l.userAdded(user);
+    }
+
+    // Replay only: a submission journaled with a cold offset has nothing left to detach.
+    private void addSubmission(Submission sub) {
+        String[] fields = sub.toFields();
+        coldFields.detach(sub);
+        addDetached(sub, fields);
+    }
+
+    // fields is sub.toFields() from before its cold fields were detached. The search index is
+    // updated after the submission is in the list, so a first search building the index
+    // concurrently either sees it in its snapshot or has finished and indexes it here.
+    private void addDetached(Submission sub, String[] fields) {
+        if (sub.isScheduled())
+            openSessionIndex.booked(sub.sessionId());
+        allSubmissions.add(sub);
+        submissionIndex.add(sub);
+        assignmentIndex.addSubmission(sub);
+        leaderboard.update(sub);
+        scoreStats.update(sub, evaluatorOf(sub));
+        searchIndex.add(sub, fields[ColdFieldStore.FIRST], fields[ColdFieldStore.FIRST + 1]);
+        for (DataChangeListener l : changeListeners)
+            l.submissionAdded(sub);
+    }
+
+    private void addSession(Session session) {
+        openSessionIndex.add(session);
+        allSessions.add(session);
+        assignmentIndex.addSession(session);
+        scheduleIndex.add(session);
+        for (DataChangeListener l : changeListeners)
+            l.sessionAdded(session);
+    }
+
+    private boolean applyGrade(String presenter, String title, int score, int[] rubric, String comment) {
+        Submission sub = submissionIndex.get(presenter, title);
+        if (sub == null)
+            return false;
+        SubmissionStatus oldStatus = sub.status();
+        sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, score, comment, rubric));
+        submissionIndex.statusChanged(sub, oldStatus);
+        leaderboard.update(sub);
+        scoreStats.update(sub, evaluatorOf(sub));
+        for (DataChangeListener l : changeListeners)
+            l.submissionUpdated(sub);
+        return true;
+    }
+
+    private void applySchedule(Submission sub, String sessionId) {
+        sub.setSession(sessionId);
+        openSessionIndex.booked(sessionId);
+        submissionIndex.scheduled(sub);
+        assignmentIndex.addSubmission(sub);
+        scoreStats.update(sub, evaluatorOf(sub));
+        for (DataChangeListener l : changeListeners)
+            l.submissionUpdated(sub);
+    }
+
+    private String evaluatorOf(Submission sub) {
+        String evaluator = assignmentIndex.evaluatorOf(sub.sessionId());
+        return evaluator == null ? Session.UNASSIGNED : evaluator;
+    }
+
+    // Users with a role this version does not know are skipped rather than failing the load.
+    private static User userOf(String[] f) {
+        Role role = Role.of(f.length > 2 ? f[2] : null);
+        if (role == null) {
+            System.out.println("Skipping user " + f[0] + " with unknown role " + (f.length > 2 ? f[2] : null));
+            return null;
+        }
+        return new User(f[0], f[1], role);
+    }
+
+    private void readDataFile(Path file) throws IOException {
+        try (SeminarDataFile data = SeminarDataFile.open(file)) {
+            generation = data.getGeneration();
+
+            int users = data.count(SeminarDataFile.USERS);
+            for (int i = 0; i < users; i++) {
+                User user = userOf(data.row(SeminarDataFile.USERS, i));
+                if (user != null)
+                    userDatabase.put(user.username(), user);
+            }
+
+            int subs = data.count(SeminarDataFile.SUBMISSIONS);
+            for (int i = 0; i < subs; i++) {
+                allSubmissions.add(readSubmission(data, i));
+            }
+
+            int sessions = data.count(SeminarDataFile.SESSIONS);
+            for (int i = 0; i < sessions; i++) {
+                String[] row = data.row(SeminarDataFile.SESSIONS, i);
+                internUsername(row, 5);
+                allSessions.add(Session.fromFields(row));
+            }
+        }
+    }
+
+    // Version 2 rows hold the cold record's offset in the first cold slot instead of the fields,
+    // then the rubric scores when the row has them.
+    private Submission readSubmission(SeminarDataFile data, int i) {
+        String[] row = data.row(SeminarDataFile.SUBMISSIONS, i);
+        internUsername(row, 0);
+        if (data.getVersion() < 2 || row.length <= ColdFieldStore.FIRST) {
+            Submission sub = Submission.fromFields(row);
+            coldFields.detach(sub);
+            return sub;
+        }
+        String ref = row[ColdFieldStore.FIRST];
+        String[] fields = Arrays.copyOf(row, Submission.RUBRIC_FIELD + 1);
+        Arrays.fill(fields, ColdFieldStore.FIRST, Submission.RUBRIC_FIELD + 1, null);
+        if (row.length > ColdFieldStore.FIRST + 1)
+            fields[Submission.RUBRIC_FIELD] = row[ColdFieldStore.FIRST + 1];
+        Submission sub = Submission.fromFields(fields);
+        if (ref != null)
+            coldFields.attach(sub, Long.parseLong(ref));
+        return sub;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readLegacyDataFile(Path file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new BufferedInputStream(new FileInputStream(file.toFile())))) {
+            Map<String, String[]> users = (Map<String, String[]>) ois.readObject();
+            List<String[]> subs = (List<String[]>) ois.readObject();
+            List<Object[]> sessions = (List<Object[]>) ois.readObject();
+            try {
+                generation = ois.readLong();
+            } catch (EOFException noGeneration) {
+                generation = 0;
+            }
+            for (Map.Entry<String, String[]> e : users.entrySet()) {
+                User user = userOf(new String[] { e.getKey(), e.getValue()[0], e.getValue()[1] });
+                if (user != null)
+                    userDatabase.put(user.username(), user);
+            }
+            for (String[] row : subs) {
+                internUsername(row, 0);
+                Submission sub = Submission.fromFields(row);
+                coldFields.detach(sub);
+                allSubmissions.add(sub);
+            }
+            for (Object[] row : sessions) {
+                internUsername(row, 5);
+                allSessions.add(Session.fromFields(row));
+            }
+        }
+    }
+
+    private void initializeDefaults() {
+        userDatabase.clear();
+        userDatabase.put("student1", new User("student1", "pass", Role.STUDENT));
+        userDatabase.put("eval1", new User("eval1", "pass", Role.EVALUATOR));
+        userDatabase.put("coord1", new User("coord1", "pass", Role.COORDINATOR));
+    }
+}
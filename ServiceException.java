@@ -0,0 +1,22 @@
+// A rejected operation. The message is meant for the user; the status is the HTTP code the API
+// answers with.
+public class ServiceException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public static final int BAD_REQUEST = 400;
+    public static final int UNAUTHORIZED = 401;
+    public static final int FORBIDDEN = 403;
+    public static final int NOT_FOUND = 404;
+    public static final int CONFLICT = 409;
+
+    private final int status;
+
+    public ServiceException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,110 @@
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+// A scheduled session. The start is parsed once, when the session is created or loaded, and kept
+// as epoch millis; the "yyyy-MM-dd HH:mm" text is only produced for display and storage. The
+// venue is a shared instance (see StringDictionary). A stored date that does not parse, as older
+// versions took the date as free text, has no start and is kept as written, so saving the session
+// never loses it.
+public class Session {
+    public static final long NO_START = Long.MIN_VALUE;
+    public static final String UNASSIGNED = "Unassigned";
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final String id;
+    private final long start;
+    private final String venue;
+    private final PresentationType type;
+    private final SessionStatus status;
+    private final String evaluator;
+    // The stored date text when it did not parse; null otherwise.
+    private final String unparsedDate;
+
+    public Session(String id, long start, String venue, PresentationType type, SessionStatus status,
+            String evaluator) {
+        this(id, start, null, venue, type, status, evaluator);
+    }
+
+    private Session(String id, long start, String unparsedDate, String venue, PresentationType type,
+            SessionStatus status, String evaluator) {
+        this.id = id;
+        this.start = start;
+        this.unparsedDate = unparsedDate;
+        this.venue = StringDictionary.canonical(venue);
+        this.type = type;
+        this.status = status;
+        this.evaluator = evaluator;
+    }
+
+    // Reads the stored layout {id, date, venue, type, status[, evaluator]}; rows from before
+    // evaluators were assigned have no sixth field.
+    public static Session fromFields(Object[] f) {
+        String date = (String) f[1];
+        long start = parseStart(date);
+        String unparsed = null;
+        if (start == NO_START && date != null && !date.equals(formatStart(NO_START))) {
+            System.out.println("Session " + f[0] + " has a date that is not yyyy-MM-dd HH:mm, kept as is: " + date);
+            unparsed = date;
+        }
+        return new Session((String) f[0], start, unparsed, (String) f[2], PresentationType.parse((String) f[3]),
+                SessionStatus.of((String) f[4]), f.length > 5 && f[5] != null ? (String) f[5] : UNASSIGNED);
+    }
+
+    // Epoch millis of a "yyyy-MM-dd HH:mm" date in the local time zone, or NO_START.
+    public static long parseStart(String date) {
+        if (date == null)
+            return NO_START;
+        try {
+            return LocalDateTime.parse(date, FORMAT).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return NO_START;
+        }
+    }
+
+    public static String formatStart(long start) {
+        if (start == NO_START)
+            return "-";
+        return FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochMilli(start), ZoneId.systemDefault()));
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public long start() {
+        return start;
+    }
+
+    // The stored text of a date that did not parse, so it is written back unchanged.
+    public String date() {
+        return unparsedDate != null ? unparsedDate : formatStart(start);
+    }
+
+    public String venue() {
+        return venue;
+    }
+
+    public PresentationType type() {
+        return type;
+    }
+
+    public SessionStatus status() {
+        return status;
+    }
+
+    public String evaluator() {
+        return evaluator;
+    }
+
+    public String[] toFields() {
+        return new String[] { id, date(), venue, type.sessionLabel(), status.toString(), evaluator };
+    }
+
+    // The cells of the coordinator's session table.
+    public Object[] toRow() {
+        return new Object[] { id, date(), venue, type.sessionLabel(), status, evaluator };
+    }
+}
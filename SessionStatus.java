@@ -0,0 +1,22 @@
+public enum SessionStatus {
+    SCHEDULED("Scheduled");
+
+    private final String label;
+
+    SessionStatus(String label) {
+        this.label = label;
+    }
+
+    public static SessionStatus of(String label) {
+        for (SessionStatus s : values()) {
+            if (s.label.equals(label))
+                return s;
+        }
+        return SCHEDULED;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
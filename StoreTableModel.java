@@ -0,0 +1,287 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+
+// A read-only table over one of the store's append-only lists. Nothing is copied: each cell is
+// read from the row's object when the table paints it, so only the visible rows cost anything and
+// a grade change shows on the next repaint. Sorting and filtering produce an int array of list
+// positions (null while every row shows in store order), merge-sorted by each row's sort key, so
+// a million rows cost four bytes each rather than a row object each. Views over more than
+// BACKGROUND_ROWS rows are built on a worker thread; the table keeps showing the old view until
+// the new one is ready.
+//
+// Call it on the event thread only. rowsAdded() and rowChanged() are what the store's listeners
+// call. A changed row repaints alone unless it has left the filter or moved out of sort order;
+// rebuilds, like rowsAdded() on a sorted or filtered view, coalesce into one per event burst.
+public class StoreTableModel<T> extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+    private static final String ASCENDING = " \u25B2";
+    private static final String DESCENDING = " \u25BC";
+    private static final int BACKGROUND_ROWS = 50_000;
+
+    private static class Column<T> {
+        final String name;
+        final Function<T, Object> value;
+        final Function<T, Comparable<?>> sortKey;
+
+        Column(String name, Function<T, Object> value, Function<T, Comparable<?>> sortKey) {
+            this.name = name;
+            this.value = value;
+            this.sortKey = sortKey;
+        }
+    }
+
+    private final Supplier<List<T>> source;
+    private final List<Column<T>> columns = new ArrayList<>();
+    private List<T> rows;
+    private int[] view;
+    private Predicate<T> filter;
+    private int sortColumn = -1;
+    private boolean descending;
+    private boolean rebuildQueued;
+    private int rebuilds;
+
+    public StoreTableModel(Supplier<List<T>> source) {
+        this.source = source;
+        this.rows = source.get();
+    }
+
+    public StoreTableModel<T> column(String name, Function<T, Object> value, Function<T, Comparable<?>> sortKey) {
+        columns.add(new Column<>(name, value, sortKey));
+        return this;
+    }
+
+    // The row object shown in a view row.
+    public T rowAt(int row) {
+        return rows.get(view == null ? row : view[row]);
+    }
+
+    @Override
+    public int getRowCount() {
+        return view == null ? rows.size() : view.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns.get(column).name;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return columns.get(column).value.apply(rowAt(row));
+    }
+
+    // Null shows every row.
+    public void setFilter(Predicate<T> filter) {
+        this.filter = filter;
+        rebuild();
+    }
+
+    // Each click on a header cycles that column through ascending, descending and store order.
+    public void sortOnHeaderClick(JTable table) {
+        JTableHeader header = table.getTableHeader();
+        header.addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                int column = table.convertColumnIndexToModel(header.columnAtPoint(e.getPoint()));
+                if (column < 0)
+                    return;
+                if (column != sortColumn)
+                    sortBy(column, false);
+                else if (!descending)
+                    sortBy(column, true);
+                else
+                    sortBy(-1, false);
+                for (int i = 0; i < table.getColumnCount(); i++) {
+                    int c = table.convertColumnIndexToModel(i);
+                    table.getColumnModel().getColumn(i).setHeaderValue(getColumnName(c)
+                            + (c != sortColumn ? "" : descending ? DESCENDING : ASCENDING));
+                }
+                header.repaint();
+            }
+        });
+    }
+
+    // -1 shows store order.
+    void sortBy(int column, boolean descending) {
+        sortColumn = column;
+        this.descending = descending;
+        rebuild();
+    }
+
+    // The source list has grown. In store order the new rows are simply appended.
+    public void rowsAdded() {
+        if (view == null) {
+            int from = rows.size();
+            rows = source.get();
+            if (rows.size() > from)
+                fireTableRowsInserted(from, rows.size() - 1);
+        } else {
+            queueRebuild();
+        }
+    }
+
+    // A row's values have changed. Cells are read on paint, so repainting its view row shows them;
+    // the view is rebuilt only if the row now falls on the other side of the filter or out of
+    // order with its neighbours. A row not yet in the view's list arrives with rowsAdded().
+    public void rowChanged(T row) {
+        int position = positionOf(row);
+        if (position < 0)
+            return;
+        int viewRow = view == null ? position : viewRowOf(position);
+        if (viewRow < 0) {
+            if (filter != null && filter.test(row))
+                queueRebuild();
+        } else if ((filter != null && !filter.test(row)) || !inOrder(viewRow)) {
+            queueRebuild();
+        } else {
+            fireTableRowsUpdated(viewRow, viewRow);
+        }
+    }
+
+    private int positionOf(T row) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i) == row)
+                return i;
+        }
+        return -1;
+    }
+
+    private int viewRowOf(int position) {
+        for (int i = 0; i < view.length; i++) {
+            if (view[i] == position)
+                return i;
+        }
+        return -1;
+    }
+
+    // Whether the view row still sorts after the row above it and before the row below it, ties
+    // going by list position as in sort().
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private boolean inOrder(int viewRow) {
+        if (sortColumn < 0)
+            return true;
+        Function<T, Comparable<?>> sortKey = columns.get(sortColumn).sortKey;
+        int direction = descending ? -1 : 1;
+        Comparable key = sortKey.apply(rowAt(viewRow));
+        if (viewRow > 0) {
+            int c = direction * ((Comparable) sortKey.apply(rowAt(viewRow - 1))).compareTo(key);
+            if (c > 0 || c == 0 && view[viewRow - 1] > view[viewRow])
+                return false;
+        }
+        if (viewRow < view.length - 1) {
+            int c = direction * key.compareTo(sortKey.apply(rowAt(viewRow + 1)));
+            if (c > 0 || c == 0 && view[viewRow] > view[viewRow + 1])
+                return false;
+        }
+        return true;
+    }
+
+    private void queueRebuild() {
+        if (rebuildQueued)
+            return;
+        rebuildQueued = true;
+        SwingUtilities.invokeLater(() -> {
+            rebuildQueued = false;
+            rebuild();
+        });
+    }
+
+    public void rebuild() {
+        int generation = ++rebuilds;
+        List<T> snapshot = source.get();
+        if (filter == null && sortColumn < 0) {
+            apply(generation, snapshot, null);
+            return;
+        }
+        Predicate<T> include = filter;
+        Function<T, Comparable<?>> sortKey = sortColumn < 0 ? null : columns.get(sortColumn).sortKey;
+        boolean reverse = descending;
+        if (snapshot.size() < BACKGROUND_ROWS) {
+            apply(generation, snapshot, buildView(snapshot, include, sortKey, reverse));
+            return;
+        }
+        new SwingWorker<int[], Void>() {
+            protected int[] doInBackground() {
+                return buildView(snapshot, include, sortKey, reverse);
+            }
+
+            protected void done() {
+                try {
+                    apply(generation, snapshot, get());
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
+    // Drops views overtaken by a later rebuild; rows added while this one was built get their own.
+    private void apply(int generation, List<T> snapshot, int[] positions) {
+        if (generation != rebuilds)
+            return;
+        rows = snapshot;
+        view = positions;
+        fireTableDataChanged();
+        if (source.get().size() > snapshot.size())
+            queueRebuild();
+    }
+
+    private static <T> int[] buildView(List<T> rows, Predicate<T> filter, Function<T, Comparable<?>> sortKey,
+            boolean descending) {
+        int[] positions = new int[rows.size()];
+        int n = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (filter == null || filter.test(rows.get(i)))
+                positions[n++] = i;
+        }
+        if (n < positions.length)
+            positions = Arrays.copyOf(positions, n);
+        if (sortKey != null) {
+            Comparable<?>[] keys = new Comparable<?>[rows.size()];
+            for (int p : positions)
+                keys[p] = sortKey.apply(rows.get(p));
+            sort(positions, keys, descending ? -1 : 1);
+        }
+        return positions;
+    }
+
+    // Stable bottom-up merge sort of list positions by their keys; Arrays.sort has no comparator
+    // form for ints.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static void sort(int[] positions, Comparable[] keys, int direction) {
+        int[] from = positions;
+        int[] to = new int[positions.length];
+        for (int width = 1; width < positions.length; width *= 2) {
+            for (int lo = 0; lo < positions.length; lo += 2 * width) {
+                int mid = Math.min(lo + width, positions.length);
+                int hi = Math.min(lo + 2 * width, positions.length);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || direction * keys[from[i]].compareTo(keys[from[j]]) <= 0))
+                        to[k] = from[i++];
+                    else
+                        to[k] = from[j++];
+                }
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        if (from != positions)
+            System.arraycopy(from, 0, positions, 0, positions.length);
+    }
+}
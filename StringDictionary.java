@@ -0,0 +1,58 @@
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One canonical instance and a small int code for each distinct string, handed out in first-seen
+// order. Entries are never dropped, so only low-cardinality values belong in one. SHARED lives as
+// long as the process and holds the session venues, so a thousand sessions in V1 hold one "V1".
+// Names grow with the data, so rows share the registered User's instance instead (see
+// SeminarStore.username), and IDs are kept as they are. SeminarDataFile builds a dictionary
+// per snapshot it writes, which goes when the write is done, so the codes stay dense.
+public class StringDictionary {
+    public static final StringDictionary SHARED = new StringDictionary();
+
+    private static class Entry {
+        final String string;
+        final int code;
+
+        Entry(String string, int code) {
+            this.string = string;
+            this.code = code;
+        }
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AppendOnlyList<String> strings = new AppendOnlyList<>();
+
+    public static String canonical(String s) {
+        return s == null ? null : SHARED.entry(s).string;
+    }
+
+    public int code(String s) {
+        return entry(s).code;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+
+    // Every string in code order.
+    public List<String> strings() {
+        return strings.snapshot();
+    }
+
+    private Entry entry(String s) {
+        Entry e = entries.get(s);
+        if (e != null)
+            return e;
+        synchronized (this) {
+            e = entries.get(s);
+            if (e == null) {
+                e = new Entry(s, strings.size());
+                strings.add(s);
+                entries.put(s, e);
+            }
+            return e;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+// A fixed pool of reentrant locks shared by hash. Operations on different users, sessions or
+// submissions rarely meet on a stripe and run in parallel; operations on the same one queue up.
+// lock() takes every stripe it needs at once, in index order, so two callers cannot deadlock as
+// long as a nested lock() only asks again for stripes the caller already holds.
+public class StripedLock {
+    public static final int DEFAULT_STRIPES = 64;
+
+    public class Held implements AutoCloseable {
+        private final int[] held;
+
+        Held(int[] held) {
+            this.held = held;
+        }
+
+        public void close() {
+            for (int i = held.length - 1; i >= 0; i--)
+                stripes[held[i]].unlock();
+        }
+    }
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int count) {
+        stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++)
+            stripes[i] = new ReentrantLock();
+    }
+
+    public Held lock(String... keys) {
+        int[] indexes = new int[keys.length];
+        for (int i = 0; i < keys.length; i++)
+            indexes[i] = Math.floorMod(keys[i].hashCode() * 0x9E3779B9, stripes.length);
+        Arrays.sort(indexes);
+        int n = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            if (n == 0 || indexes[n - 1] != indexes[i])
+                indexes[n++] = indexes[i];
+        }
+        int[] held = Arrays.copyOf(indexes, n);
+        for (int stripe : held)
+            stripes[stripe].lock();
+        return new Held(held);
+    }
+}
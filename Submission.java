@@ -0,0 +1,251 @@
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// One research submission. Indexes, the leaderboard, the cold field store and the table syncs all
+// track submissions by identity. Everything but the grade and the session is fixed at creation; a
+// grade is swapped in whole by one volatile write, so a reader on any thread sees the old grade or
+// the new one, never half of each. A submission made without a session (NO_SESSION) is booked into
+// one later, once, by the scheduler.
+//
+// The abstract, supervisor and file path are only held here until ColdFieldStore.detach() moves
+// them to the cold file; coldRef is then their offset there.
+public class Submission {
+    public static final String NONE = "-";
+    public static final String NO_SESSION = "TBD";
+    // The evaluation form's criteria, each scored 0-RUBRIC_MAX; together they make up the 100.
+    public static final String[] RUBRIC = { "Problem Clarity", "Methodology", "Results Analysis",
+            "Presentation Style" };
+    public static final int RUBRIC_MAX = 25;
+    // Index of the rubric scores in the stored layout; rows from before rubrics stop short of it.
+    static final int RUBRIC_FIELD = 11;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    public static class Grade {
+        public static final Grade PENDING = new Grade(SubmissionStatus.PENDING, -1, NONE);
+
+        public final SubmissionStatus status;
+        // 0-100, or -1 while ungraded.
+        public final int score;
+        public final String comment;
+        // One score per RUBRIC criterion, or null for grades given as a bare total.
+        private final byte[] rubric;
+
+        public Grade(SubmissionStatus status, int score, String comment) {
+            this(status, score, comment, null);
+        }
+
+        public Grade(SubmissionStatus status, int score, String comment, int[] rubric) {
+            this.status = status;
+            this.score = score;
+            this.comment = comment;
+            if (rubric == null) {
+                this.rubric = null;
+            } else {
+                this.rubric = new byte[RUBRIC.length];
+                for (int i = 0; i < this.rubric.length; i++)
+                    this.rubric[i] = (byte) rubric[i];
+            }
+        }
+
+        public boolean hasRubric() {
+            return rubric != null;
+        }
+
+        // The score for RUBRIC[criterion], or -1 without a rubric.
+        public int rubric(int criterion) {
+            return rubric == null ? -1 : rubric[criterion];
+        }
+
+        public int[] rubricScores() {
+            if (rubric == null)
+                return null;
+            int[] scores = new int[rubric.length];
+            for (int i = 0; i < scores.length; i++)
+                scores[i] = rubric[i];
+            return scores;
+        }
+    }
+
+    // A submission together with its cold fields, as read back for the detail view.
+    public static class Details {
+        public final Submission submission;
+        public final String abstractText;
+        public final String supervisor;
+        public final String file;
+
+        Details(Submission submission, String[] cold) {
+            this.submission = submission;
+            this.abstractText = cold[0];
+            this.supervisor = cold[1];
+            this.file = cold[2];
+        }
+    }
+
+    private final String presenter;
+    private final String title;
+    private final PresentationType type;
+    private volatile String sessionId;
+    private final int submittedDay;
+    private volatile Grade grade;
+
+    // Guarded by ColdFieldStore.
+    String abstractText;
+    String supervisor;
+    String file;
+    long coldRef = -1;
+
+    // Guarded by SearchIndex.
+    int searchDoc = -1;
+
+    public Submission(String presenter, String title, PresentationType type, String sessionId, LocalDate submitted,
+            String abstractText, String supervisor, String file) {
+        this(presenter, title, type, sessionId, (int) submitted.toEpochDay(), Grade.PENDING, abstractText,
+                supervisor, file);
+    }
+
+    private Submission(String presenter, String title, PresentationType type, String sessionId, int submittedDay,
+            Grade grade, String abstractText, String supervisor, String file) {
+        this.presenter = presenter;
+        this.title = title;
+        this.type = type;
+        this.sessionId = sessionId;
+        this.submittedDay = submittedDay;
+        this.grade = grade;
+        this.abstractText = abstractText;
+        this.supervisor = supervisor;
+        this.file = file;
+    }
+
+    // Reads the stored layout {presenter, title, type, status, session, date, score, comment,
+    // abstract, supervisor, file, rubric}. Rows written by older versions may stop early.
+    public static Submission fromFields(String[] f) {
+        Grade grade = Grade.PENDING;
+        SubmissionStatus status = SubmissionStatus.of(field(f, 3, null));
+        int score = parseScore(field(f, 6, null));
+        String comment = field(f, 7, NONE);
+        if (status != SubmissionStatus.PENDING || score >= 0 || !NONE.equals(comment))
+            grade = new Grade(status, score, comment, parseRubric(field(f, RUBRIC_FIELD, null)));
+        return new Submission(f[0], f[1], PresentationType.parse(field(f, 2, null)), field(f, 4, NO_SESSION),
+                parseDay(field(f, 5, null)), grade, field(f, 8, null), field(f, 9, null), field(f, 10, null));
+    }
+
+    // Parses the "NN/100" score column; -1 for ungraded rows or anything unparseable.
+    public static int parseScore(String s) {
+        if (s == null)
+            return -1;
+        int slash = s.indexOf('/');
+        try {
+            return Integer.parseInt(slash < 0 ? s.trim() : s.substring(0, slash).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static String formatScore(int score) {
+        return score < 0 ? NONE : score + "/100";
+    }
+
+    // The rubric column, "18,20,22,19"; null for a grade without one.
+    public static String formatRubric(int[] rubric) {
+        if (rubric == null)
+            return null;
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < rubric.length; i++)
+            s.append(i == 0 ? "" : ",").append(rubric[i]);
+        return s.toString();
+    }
+
+    // Null for a missing or malformed column.
+    public static int[] parseRubric(String s) {
+        if (s == null)
+            return null;
+        String[] parts = s.split(",");
+        if (parts.length != RUBRIC.length)
+            return null;
+        int[] rubric = new int[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                rubric[i] = Integer.parseInt(parts[i].trim());
+                if (rubric[i] < 0 || rubric[i] > RUBRIC_MAX)
+                    return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return rubric;
+    }
+
+    private static int parseDay(String date) {
+        try {
+            return date == null ? NO_DATE : (int) LocalDate.parse(date).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return NO_DATE;
+        }
+    }
+
+    private static String field(String[] f, int i, String missing) {
+        return i < f.length && f[i] != null ? f[i] : missing;
+    }
+
+    public String presenter() {
+        return presenter;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public PresentationType type() {
+        return type;
+    }
+
+    public String sessionId() {
+        return sessionId;
+    }
+
+    public boolean isScheduled() {
+        return !NO_SESSION.equals(sessionId);
+    }
+
+    public String submitted() {
+        return submittedDay == NO_DATE ? NONE : LocalDate.ofEpochDay(submittedDay).toString();
+    }
+
+    public Grade grade() {
+        return grade;
+    }
+
+    public SubmissionStatus status() {
+        return grade.status;
+    }
+
+    public int score() {
+        return grade.score;
+    }
+
+    public String scoreText() {
+        return formatScore(grade.score);
+    }
+
+    public String comment() {
+        return grade.comment;
+    }
+
+    void setGrade(Grade grade) {
+        this.grade = grade;
+    }
+
+    void setSession(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    // The stored layout, with whatever cold fields are still attached (see fromFields).
+    public String[] toFields() {
+        return toFields(grade, sessionId);
+    }
+
+    String[] toFields(Grade g, String sessionId) {
+        return new String[] { presenter, title, type.toString(), g.status.toString(), sessionId, submitted(),
+                formatScore(g.score), g.comment, abstractText, supervisor, file, formatRubric(g.rubricScores()) };
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Submissions are indexed by identity, so a graded submission stays reachable as long as
+// statusChanged() is told about status moves. The primary key keeps the first submission
+// registered for a (presenter, title) pair, matching the old first-match scans over
+// allSubmissions. Lookups never lock; the per-presenter and per-session lists are append-only and
+// read as snapshots. Unscheduled submissions are left out of the per-session lists until
+// scheduled() books them, which happens once, so nothing ever has to leave a list.
+public class SubmissionIndex {
+    private final Map<String, Submission> byKey = new ConcurrentHashMap<>();
+    private final Map<String, AppendOnlyList<Submission>> byPresenter = new ConcurrentHashMap<>();
+    private final Map<String, AppendOnlyList<Submission>> bySession = new ConcurrentHashMap<>();
+    private final Map<SubmissionStatus, Set<Submission>> byStatus = new ConcurrentHashMap<>();
+
+    public static String key(String presenter, String title) {
+        return presenter + '\u0000' + title;
+    }
+
+    public void clear() {
+        byKey.clear();
+        byPresenter.clear();
+        bySession.clear();
+        byStatus.clear();
+    }
+
+    public void rebuild(Collection<Submission> submissions) {
+        clear();
+        for (Submission sub : submissions)
+            add(sub);
+    }
+
+    public void add(Submission sub) {
+        byKey.putIfAbsent(key(sub.presenter(), sub.title()), sub);
+        byPresenter.computeIfAbsent(sub.presenter(), k -> new AppendOnlyList<>(4)).add(sub);
+        if (sub.isScheduled())
+            scheduled(sub);
+        byStatus.computeIfAbsent(sub.status(), k -> ConcurrentHashMap.newKeySet()).add(sub);
+    }
+
+    public void scheduled(Submission sub) {
+        bySession.computeIfAbsent(sub.sessionId(), k -> new AppendOnlyList<>(1)).add(sub);
+    }
+
+    public void statusChanged(Submission sub, SubmissionStatus oldStatus) {
+        if (oldStatus == sub.status())
+            return;
+        Set<Submission> old = byStatus.get(oldStatus);
+        if (old != null)
+            old.remove(sub);
+        byStatus.computeIfAbsent(sub.status(), k -> ConcurrentHashMap.newKeySet()).add(sub);
+    }
+
+    public Submission get(String presenter, String title) {
+        return byKey.get(key(presenter, title));
+    }
+
+    public Collection<Submission> byPresenter(String presenter) {
+        AppendOnlyList<Submission> subs = byPresenter.get(presenter);
+        return subs == null ? Collections.emptyList() : subs.snapshot();
+    }
+
+    public Collection<Submission> bySession(String sessionId) {
+        AppendOnlyList<Submission> subs = bySession.get(sessionId);
+        return subs == null ? Collections.emptyList() : subs.snapshot();
+    }
+
+    public Collection<Submission> byStatus(SubmissionStatus status) {
+        Set<Submission> subs = byStatus.get(status);
+        return subs == null ? Collections.emptySet() : Collections.unmodifiableSet(subs);
+    }
+}
@@ -0,0 +1,75 @@
+import javax.swing.table.DefaultTableModel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Mirrors the submissions matching a filter into a table model one row at a time, so a single
+// change fires a single row insert/update/delete instead of a full reload.
+public class SubmissionTableSync implements DataChangeListener {
+    private final DefaultTableModel model;
+    private final Predicate<Submission> filter;
+    private final Function<Submission, Object[]> rowMapper;
+    private final Map<Submission, Integer> rows = new IdentityHashMap<>();
+    private final List<Submission> byRow = new ArrayList<>();
+
+    public SubmissionTableSync(DefaultTableModel model, Predicate<Submission> filter,
+            Function<Submission, Object[]> rowMapper) {
+        this.model = model;
+        this.filter = filter;
+        this.rowMapper = rowMapper;
+    }
+
+    // The submission shown in a model row; a row filter over the model can map rows back with it.
+    public Submission submissionAt(int row) {
+        return byRow.get(row);
+    }
+
+    public void reset(Iterable<Submission> submissions) {
+        rows.clear();
+        byRow.clear();
+        model.setRowCount(0);
+        for (Submission sub : submissions) {
+            if (filter.test(sub)) {
+                rows.put(sub, model.getRowCount());
+                byRow.add(sub);
+                model.addRow(rowMapper.apply(sub));
+            }
+        }
+    }
+
+    @Override
+    public void submissionAdded(Submission sub) {
+        if (!rows.containsKey(sub) && filter.test(sub)) {
+            rows.put(sub, model.getRowCount());
+            byRow.add(sub);
+            model.addRow(rowMapper.apply(sub));
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void submissionUpdated(Submission sub) {
+        Integer row = rows.get(sub);
+        if (row == null) {
+            submissionAdded(sub);
+        } else if (!filter.test(sub)) {
+            rows.remove(sub);
+            for (Map.Entry<Submission, Integer> e : rows.entrySet()) {
+                if (e.getValue() > row)
+                    e.setValue(e.getValue() - 1);
+            }
+            byRow.remove((int) row);
+            model.removeRow(row);
+        } else {
+            Vector<Object> cells = (Vector<Object>) model.getDataVector().get(row);
+            Object[] values = rowMapper.apply(sub);
+            for (int i = 0; i < values.length; i++)
+                cells.set(i, values[i]);
+            model.fireTableRowsUpdated(row, row);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+import java.util.function.Consumer;
+
+// Renders a report as column-aligned text and hands it on in chunks of a few kilobytes.
+public class TextReportSink implements ReportSink {
+    private static final int CHUNK = 8192;
+    private static final int MIN_WIDTH = 12;
+    private static final int KEY_WIDTH = 22;
+
+    private final Consumer<String> out;
+    private final StringBuilder buf = new StringBuilder(CHUNK + 256);
+    private int[] widths = new int[0];
+
+    public TextReportSink(Consumer<String> out) {
+        this.out = out;
+    }
+
+    @Override
+    public void title(String title) {
+        append("=== " + title.toUpperCase() + " ===");
+    }
+
+    @Override
+    public void line(String text) {
+        append(text);
+    }
+
+    @Override
+    public void table(String heading, String... columns) {
+        widths = new int[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            widths[i] = Math.max(i == 0 ? KEY_WIDTH : MIN_WIDTH, columns[i].length() + 2);
+        append("");
+        append("--- " + heading + " ---");
+        row((Object[]) columns);
+    }
+
+    @Override
+    public void row(Object... cells) {
+        for (int i = 0; i < cells.length; i++) {
+            String cell = String.valueOf(cells[i]);
+            buf.append(cell);
+            if (i < cells.length - 1) {
+                // Columns only ever widen, so a long cell shifts the rows after it, never those before.
+                if (i < widths.length && cell.length() + 2 > widths[i])
+                    widths[i] = cell.length() + 2;
+                int width = i < widths.length ? widths[i] : Math.max(MIN_WIDTH, cell.length() + 2);
+                for (int pad = cell.length(); pad < width; pad++)
+                    buf.append(' ');
+            }
+        }
+        endLine();
+    }
+
+    @Override
+    public void finish() {
+        if (buf.length() > 0) {
+            out.accept(buf.toString());
+            buf.setLength(0);
+        }
+    }
+
+    private void append(String text) {
+        buf.append(text);
+        endLine();
+    }
+
+    private void endLine() {
+        buf.append('\n');
+        if (buf.length() >= CHUNK)
+            finish();
+    }
+}
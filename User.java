@@ -0,0 +1,28 @@
+public class User {
+    private final String username;
+    private final String password;
+    private final Role role;
+
+    public User(String username, String password, Role role) {
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public String password() {
+        return password;
+    }
+
+    public Role role() {
+        return role;
+    }
+
+    // {username, password, role}: the journal and data file layout.
+    public String[] toFields() {
+        return new String[] { username, password, role.toString() };
+    }
+}
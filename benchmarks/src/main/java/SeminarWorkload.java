@@ -0,0 +1,158 @@
+import java.io.BufferedOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import seminar.bench.Workload;
+
+// Synthetic semester: one student per four submissions, one evaluator per two hundred, one session
+// per submission spaced three minutes apart starting a day ago, and every other session booked.
+public class SeminarWorkload implements Workload {
+    private static final long SESSION_SPACING = 3 * 60 * 1000;
+
+    private SeminarStore store;
+    private int students;
+    private int evaluators;
+    private int sessions;
+    private int submissions;
+    private long firstSession;
+
+    @Override
+    public void generate(Path dir, int submissions) throws Exception {
+        size(submissions);
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+
+        Map<String, String[]> users = new HashMap<>();
+        for (int i = 0; i < students; i++)
+            users.put("student" + i, new String[] { "pass", "Student" });
+        for (int i = 0; i < evaluators; i++)
+            users.put("eval" + i, new String[] { "pass", "Evaluator" });
+        users.put("coord1", new String[] { "pass", "Coordinator" });
+
+        List<Object[]> sessionRows = new ArrayList<>(sessions);
+        for (int j = 0; j < sessions; j++) {
+            sessionRows.add(new Object[] { "S" + j, format.format(sessionStart(j)), venue(j),
+                    j % 2 == 0 ? "Oral" : "Poster", "Scheduled", "eval" + (j % evaluators) });
+        }
+
+        List<String[]> subs = new ArrayList<>(submissions);
+        for (int i = 0; i < submissions; i++) {
+            boolean graded = i % 3 == 0;
+            subs.add(new String[] { "student" + (i % students), title(i),
+                    i % 2 == 0 ? "Oral Presentation" : "Poster Presentation", graded ? "Graded" : "Pending",
+                    "S" + (2L * i % sessions), "2026-01-15", graded ? (50 + i % 50) + "/100" : "-",
+                    graded ? "Good job!" : "-", "Abstract of research project " + i + " on a synthetic topic.",
+                    "Supervisor " + (i % 97), "/home/student" + (i % students) + "/slides-" + i + ".pdf" });
+        }
+
+        // Written in the legacy format so the first load converts it exactly as an upgrade would.
+        try (ObjectOutputStream oos = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(dir.resolve(SeminarStore.LEGACY_DATA_FILE))))) {
+            oos.writeObject(users);
+            oos.writeObject(subs);
+            oos.writeObject(sessionRows);
+            oos.writeLong(0);
+        }
+        SeminarStore converter = new SeminarStore(dir, status -> {
+        });
+        converter.load();
+        converter.close();
+        Files.delete(dir.resolve(SeminarStore.LEGACY_DATA_FILE));
+    }
+
+    @Override
+    public int load(Path dir) throws Exception {
+        SeminarStore s = new SeminarStore(dir, status -> {
+        });
+        s.load();
+        int count = s.submissions().size();
+        s.close();
+        return count;
+    }
+
+    // close() waits for the checkpoint to be written, so the second load reads what it wrote.
+    @Override
+    public int saveLoadRoundTrip(Path dir) throws Exception {
+        SeminarStore s = new SeminarStore(dir, status -> {
+        });
+        s.load();
+        s.checkpoint();
+        int saved = s.submissions().size();
+        s.close();
+        int loaded = load(dir);
+        if (loaded != saved)
+            throw new IllegalStateException("Saved " + saved + " submissions but loaded " + loaded);
+        return loaded;
+    }
+
+    @Override
+    public void open(Path dir) throws Exception {
+        store = new SeminarStore(dir, status -> {
+        });
+        store.load();
+        size(store.submissions().size());
+    }
+
+    // The data side of SeminarManagementSystem.refreshRoleData: a student's own rows, an evaluator's
+    // pending queue and the open session picker.
+    @Override
+    public int refreshRoleData(int probe) {
+        int rows = store.submissionsOf("student" + (probe % students)).size();
+        for (Submission sub : store.assignedTo("eval" + (probe % evaluators))) {
+            if (sub.status() == SubmissionStatus.PENDING)
+                rows++;
+        }
+        return rows + refreshStudentSessions(System.currentTimeMillis());
+    }
+
+    @Override
+    public int refreshStudentSessions(long now) {
+        return store.openSessions(now).size();
+    }
+
+    @Override
+    public int conflictCheck(int probe) {
+        int j = probe % sessions;
+        return store.conflicts(sessionStart(j) + SESSION_SPACING / 3, venue(j), "eval" + (j % evaluators)).size();
+    }
+
+    @Override
+    public boolean submissionLookup(int probe) {
+        int i = probe % submissions;
+        return store.findSubmission("student" + (i % students), title(i)) != null;
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (store != null)
+            store.close();
+        store = null;
+    }
+
+    private void size(int submissions) {
+        this.submissions = Math.max(1, submissions);
+        students = Math.max(1, submissions / 4);
+        evaluators = Math.max(1, submissions / 200);
+        sessions = Math.max(1, submissions);
+        // Minute precision, as the stored dates are formatted without seconds.
+        if (firstSession == 0)
+            firstSession = System.currentTimeMillis() / 60000 * 60000 - 24L * 60 * 60 * 1000;
+    }
+
+    private long sessionStart(int j) {
+        return firstSession + j * SESSION_SPACING;
+    }
+
+    private static String venue(int j) {
+        return "V" + (1 + j % 10);
+    }
+
+    private static String title(int i) {
+        return "Research " + i;
+    }
+}
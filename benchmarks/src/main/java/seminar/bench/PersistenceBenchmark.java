@@ -0,0 +1,59 @@
+package seminar.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PersistenceBenchmark {
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int submissions;
+
+    private Workload workload;
+    private Path dir;
+
+    @Setup(Level.Trial)
+    public void generate() throws Exception {
+        workload = Workload.create();
+        dir = Files.createTempDirectory("seminar-bench");
+        workload.generate(dir, submissions);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws Exception {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public int loadData() throws Exception {
+        return workload.load(dir);
+    }
+
+    @Benchmark
+    public int saveLoadRoundTrip() throws Exception {
+        return workload.saveLoadRoundTrip(dir);
+    }
+}
@@ -0,0 +1,78 @@
+package seminar.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int submissions;
+
+    private Workload workload;
+    private Path dir;
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        workload = Workload.create();
+        dir = Files.createTempDirectory("seminar-bench");
+        workload.generate(dir, submissions);
+        workload.open(dir);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        workload.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    // Probes walk the dataset with a large odd stride so consecutive calls hit unrelated rows.
+    private int next() {
+        probe = (probe + 7919) & Integer.MAX_VALUE;
+        return probe;
+    }
+
+    @Benchmark
+    public int refreshRoleData() {
+        return workload.refreshRoleData(next());
+    }
+
+    @Benchmark
+    public int refreshStudentSessions() {
+        return workload.refreshStudentSessions(System.currentTimeMillis());
+    }
+
+    @Benchmark
+    public int conflictCheck() {
+        return workload.conflictCheck(next());
+    }
+
+    @Benchmark
+    public boolean submissionLookup() {
+        return workload.submissionLookup(next());
+    }
+}
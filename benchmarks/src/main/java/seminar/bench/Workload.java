@@ -0,0 +1,31 @@
+package seminar.bench;
+
+import java.nio.file.Path;
+
+// The application classes sit in the unnamed package, which JMH benchmark classes cannot import.
+// The default-package SeminarWorkload implements this interface against SeminarStore directly and
+// is looked up by name once per trial.
+public interface Workload {
+    static Workload create() throws ReflectiveOperationException {
+        return (Workload) Class.forName("SeminarWorkload").getDeclaredConstructor().newInstance();
+    }
+
+    // Writes a synthetic dataset of the given size into dir as a checkpointed store.
+    void generate(Path dir, int submissions) throws Exception;
+
+    int load(Path dir) throws Exception;
+
+    int saveLoadRoundTrip(Path dir) throws Exception;
+
+    void open(Path dir) throws Exception;
+
+    int refreshRoleData(int probe);
+
+    int refreshStudentSessions(long now);
+
+    int conflictCheck(int probe);
+
+    boolean submissionLookup(int probe);
+
+    void close() throws Exception;
+}
@@ -0,0 +1,63 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AssignmentIndexTest {
+    private static Submission submission(String presenter, String sessionId) {
+        return new Submission(presenter, "Title", PresentationType.ORAL, sessionId, LocalDate.of(2026, 1, 15),
+                "Abstract", "Dr. Lee", "/slides.pdf");
+    }
+
+    private static Session session(String id, String evaluator) {
+        return new Session(id, Session.parseStart("2027-03-01 09:00"), "V1", PresentationType.ORAL,
+                SessionStatus.SCHEDULED, evaluator);
+    }
+
+    @Test
+    void rebuildAssignsBookedSubmissionsToTheirSessionsEvaluator() {
+        SubmissionIndex submissions = new SubmissionIndex();
+        AssignmentIndex index = new AssignmentIndex(submissions);
+        Submission alice = submission("alice", "S001");
+        Submission bob = submission("bob", "S002");
+        Submission carol = submission("carol", Submission.NO_SESSION);
+        List<Submission> all = List.of(alice, bob, carol);
+        submissions.rebuild(all);
+        index.rebuild(List.of(session("S001", "eve"), session("S002", "frank")), all);
+
+        assertEquals(List.of(alice), List.copyOf(index.assignedTo("eve")));
+        assertEquals(List.of(bob), List.copyOf(index.assignedTo("frank")));
+        assertTrue(index.isAssigned("eve", alice));
+        assertFalse(index.isAssigned("eve", bob));
+        assertFalse(index.isAssigned("eve", carol));
+        assertFalse(index.isAssigned(null, carol));
+        assertEquals("frank", index.evaluatorOf("S002"));
+        assertNull(index.evaluatorOf(Submission.NO_SESSION));
+    }
+
+    // A submission booked before its session is indexed is picked up when the session arrives,
+    // once.
+    @Test
+    void sessionAddedAfterItsSubmission() {
+        SubmissionIndex submissions = new SubmissionIndex();
+        AssignmentIndex index = new AssignmentIndex(submissions);
+        Submission alice = submission("alice", "S001");
+        submissions.add(alice);
+        index.addSubmission(alice);
+        assertTrue(index.assignedTo("eve").isEmpty());
+
+        index.addSession(session("S001", "eve"));
+        index.addSession(session("S001", "eve"));
+        assertEquals(List.of(alice), List.copyOf(index.assignedTo("eve")));
+
+        Submission bob = submission("bob", "S001");
+        submissions.add(bob);
+        index.addSubmission(bob);
+        assertEquals(List.of(alice, bob), List.copyOf(index.assignedTo("eve")));
+    }
+}
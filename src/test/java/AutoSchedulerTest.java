@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AutoSchedulerTest {
+    private static final long TOMORROW = LocalDate.now().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()
+            .toEpochMilli();
+
+    @TempDir
+    Path dir;
+
+    private SeminarService service;
+
+    @BeforeEach
+    void open() throws Exception {
+        service = new SeminarService(new SeminarStore(dir, status -> {
+        }));
+        service.load();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        service.close();
+    }
+
+    private void submitWaiting(int students) throws ServiceException {
+        for (int i = 0; i < students; i++) {
+            service.register("s" + i, "pw", "Student");
+            service.submit("s" + i, "Title " + i, "Oral Presentation", Submission.NO_SESSION, "Abstract", "Dr. Lee",
+                    "/slides.pdf");
+        }
+    }
+
+    // A new store has one evaluator, eval1.
+    @Test
+    void everyWaitingSubmissionGetsAConflictFreeSession() throws Exception {
+        service.register("eve", "pw", "Evaluator");
+        service.register("frank", "pw", "Evaluator");
+        submitWaiting(20);
+
+        // 9:00-10:00 has three slots a day, each with three free evaluators, so 20 submissions take
+        // three days.
+        AutoScheduler.Plan plan = service.planSchedule(TOMORROW, 9 * 60, 10 * 60);
+        assertEquals(20, plan.bookings.size());
+        assertEquals(0, plan.unplaced);
+        Set<String> evaluatorSlots = new HashSet<>();
+        Set<String> venueSlots = new HashSet<>();
+        Map<String, Integer> load = new HashMap<>();
+        for (AutoScheduler.Booking b : plan.bookings) {
+            assertTrue(evaluatorSlots.add(b.evaluator + "@" + b.start));
+            assertTrue(venueSlots.add(b.venue + "@" + b.start));
+            assertTrue(b.start >= TOMORROW + 9 * 3600_000L && b.start < TOMORROW + 3 * 24 * 3600_000L);
+            load.merge(b.evaluator, 1, Integer::sum);
+        }
+        assertEquals(Set.of(6, 7), new HashSet<>(load.values()));
+        assertTrue(service.sessions().isEmpty());
+
+        AutoScheduler.Report report = service.commitSchedule(plan);
+        assertEquals(20, report.scheduled);
+        assertTrue(report.skipped.isEmpty());
+        assertEquals(20, service.sessions().size());
+        for (Submission sub : service.submissions())
+            assertTrue(sub.isScheduled());
+        for (Map.Entry<String, Integer> e : load.entrySet())
+            assertEquals(e.getValue(), service.assignedTo(e.getKey()).size());
+    }
+
+    @Test
+    void commitSkipsSlotsBookedSinceThePlan() throws Exception {
+        service.register("eve", "pw", "Evaluator");
+        submitWaiting(2);
+        AutoScheduler.Plan plan = service.planSchedule(TOMORROW, 9 * 60, 10 * 60);
+        AutoScheduler.Booking first = plan.bookings.get(0);
+        service.createSession(first.start, first.venue, "Oral", first.evaluator);
+
+        AutoScheduler.Report report = service.commitSchedule(plan);
+        assertEquals(1, report.scheduled);
+        assertEquals(1, report.skipped.size());
+        assertTrue(report.skipped.get(0).endsWith("the slot was booked in the meantime"));
+    }
+
+    @Test
+    void dayMustHoldASession() throws Exception {
+        submitWaiting(1);
+        ServiceException e = assertThrows(ServiceException.class,
+                () -> service.planSchedule(TOMORROW, 9 * 60, 9 * 60 + 10));
+        assertEquals(ServiceException.BAD_REQUEST, e.getStatus());
+        assertEquals(1, service.planSchedule(TOMORROW, 9 * 60, 9 * 60 + 20).bookings.size());
+    }
+}
@@ -0,0 +1,107 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChangeJournalTest {
+    @TempDir
+    Path dir;
+
+    private List<String[]> replay(Path file, long generation) throws IOException {
+        List<String[]> seen = new ArrayList<>();
+        try (ChangeJournal journal = new ChangeJournal(file)) {
+            journal.replay(generation, (op, fields) -> seen.add(fields));
+        }
+        return seen;
+    }
+
+    private Path journalWithTwoRecords() throws IOException {
+        Path file = dir.resolve("test.journal");
+        try (ChangeJournal journal = new ChangeJournal(file)) {
+            journal.replay(7, (op, fields) -> {
+            });
+            journal.append(ChangeJournal.ADD_USER, "alice", "pw", "Student");
+            journal.append(ChangeJournal.GRADE, "alice", "Title", "80/100", null);
+        }
+        return file;
+    }
+
+    private static void appendRaw(Path file, byte[] bytes) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ch.write(ByteBuffer.wrap(bytes));
+        }
+    }
+
+    @Test
+    void replaysFieldsIncludingNulls() throws IOException {
+        List<String[]> seen = replay(journalWithTwoRecords(), 7);
+        assertEquals(2, seen.size());
+        assertArrayEquals(new String[] { "alice", "pw", "Student" }, seen.get(0));
+        assertArrayEquals(new String[] { "alice", "Title", "80/100", null }, seen.get(1));
+    }
+
+    @Test
+    void tornTailIsDroppedAndTruncated() throws IOException {
+        Path file = journalWithTwoRecords();
+        long intact = Files.size(file);
+        // A header promising 100 bytes followed by only a few of them, as a crash mid-append leaves.
+        appendRaw(file, ByteBuffer.allocate(12).putInt(100).putInt(0).putInt(42).array());
+
+        assertEquals(2, replay(file, 7).size());
+        assertEquals(intact, Files.size(file));
+    }
+
+    @Test
+    void corruptTailIsDropped() throws IOException {
+        Path file = journalWithTwoRecords();
+        long intact = Files.size(file);
+        try (ChangeJournal journal = new ChangeJournal(file)) {
+            journal.replay(7, (op, fields) -> {
+            });
+            journal.append(ChangeJournal.ADD_USER, "bob", "pw", "Student");
+        }
+        // Flip the last byte of the third record so its checksum no longer matches.
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            ch.read(b, ch.size() - 1);
+            b.put(0, (byte) (b.get(0) ^ 0xFF));
+            b.rewind();
+            ch.write(b, ch.size() - 1);
+        }
+
+        assertEquals(2, replay(file, 7).size());
+        assertEquals(intact, Files.size(file));
+    }
+
+    @Test
+    void appendsAfterATornTailReplay() throws IOException {
+        Path file = journalWithTwoRecords();
+        appendRaw(file, new byte[] { 0, 0, 1 });
+        try (ChangeJournal journal = new ChangeJournal(file)) {
+            assertEquals(2, journal.replay(7, (op, fields) -> {
+            }));
+            journal.append(ChangeJournal.ADD_USER, "carol", "pw", "Evaluator");
+            assertEquals(3, journal.size());
+        }
+        List<String[]> seen = replay(file, 7);
+        assertEquals(3, seen.size());
+        assertArrayEquals(new String[] { "carol", "pw", "Evaluator" }, seen.get(2));
+    }
+
+    @Test
+    void journalOfAnotherGenerationIsDiscarded() throws IOException {
+        Path file = journalWithTwoRecords();
+        assertEquals(0, replay(file, 8).size());
+        assertEquals(0, replay(file, 7).size());
+    }
+}
@@ -0,0 +1,116 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ColdFieldStoreTest {
+    @TempDir
+    Path dir;
+
+    private static Submission submission(int i) {
+        return new Submission("student" + i, "Title " + i, PresentationType.ORAL, Submission.NO_SESSION,
+                LocalDate.of(2026, 1, 15), "Abstract " + i, "Supervisor " + i, "/slides-" + i + ".pdf");
+    }
+
+    @Test
+    void detachedFieldsAreReadBackBeforeAndAfterFlush() throws Exception {
+        try (ColdFieldStore cold = new ColdFieldStore(dir.resolve("cold.dat"))) {
+            Submission sub = submission(1);
+            cold.detach(sub);
+            assertNull(sub.abstractText);
+            assertArrayEquals(new String[] { "Abstract 1", "Supervisor 1", "/slides-1.pdf" }, cold.get(sub));
+            assertEquals(-1, cold.refOf(sub));
+
+            cold.flush();
+            assertFalse(cold.hasPending());
+            assertTrue(cold.refOf(sub) >= 0);
+            assertArrayEquals(new String[] { "Abstract 1", "Supervisor 1", "/slides-1.pdf" }, cold.get(sub));
+        }
+    }
+
+    @Test
+    void offsetsSurviveReopening() throws Exception {
+        Path file = dir.resolve("cold.dat");
+        List<Submission> subs = new ArrayList<>();
+        try (ColdFieldStore cold = new ColdFieldStore(file)) {
+            for (int i = 0; i < 300; i++) {
+                subs.add(submission(i));
+                cold.detach(subs.get(i));
+            }
+            cold.flush();
+        }
+        try (ColdFieldStore cold = new ColdFieldStore(file)) {
+            for (int i = 0; i < subs.size(); i++) {
+                Submission copy = submission(i);
+                copy.abstractText = null;
+                copy.supervisor = null;
+                copy.file = null;
+                cold.attach(copy, subs.get(i).coldRef);
+                assertEquals("Abstract " + i, cold.get(copy)[0]);
+            }
+        }
+    }
+
+    // A detach racing a flush is either in that flush or stays pending for the next one.
+    @Test
+    void detachDuringFlushIsNotLost() throws Exception {
+        try (ColdFieldStore cold = new ColdFieldStore(dir.resolve("cold.dat"))) {
+            List<Submission> subs = new ArrayList<>();
+            Thread flusher = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++)
+                        cold.flush();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            flusher.start();
+            for (int i = 0; i < 2000; i++) {
+                Submission sub = submission(i);
+                subs.add(sub);
+                cold.detach(sub);
+            }
+            flusher.join();
+            cold.flush();
+            for (int i = 0; i < subs.size(); i++) {
+                assertTrue(subs.get(i).coldRef >= 0);
+                assertEquals("Supervisor " + i, cold.get(subs.get(i))[1]);
+            }
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveRecords() throws Exception {
+        Path file = dir.resolve("cold.dat");
+        try (ColdFieldStore cold = new ColdFieldStore(file)) {
+            List<Submission> live = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                Submission sub = submission(i);
+                cold.detach(sub);
+                if (i % 2 == 0)
+                    live.add(sub);
+            }
+            cold.flush();
+            long before = cold.size();
+            assertTrue(cold.garbage(live) > 0);
+
+            cold.compact(live, 4);
+            assertTrue(cold.size() < before);
+            assertEquals(0, cold.garbage(live));
+            cold.checkpointed(4);
+            assertFalse(Files.exists(dir.resolve("cold.dat.4")));
+            for (int i = 0; i < live.size(); i++)
+                assertEquals("Abstract " + 2 * i, cold.get(live.get(i))[0]);
+        }
+    }
+}
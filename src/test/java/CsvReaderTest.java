@@ -0,0 +1,57 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+    private static CsvReader reader(String text) {
+        return new CsvReader(new StringReader(text));
+    }
+
+    @Test
+    void quotedFieldsHoldCommasQuotesAndLineBreaks() throws IOException {
+        CsvReader csv = reader("a,\"b, c\",\"say \"\"hi\"\"\"\n\"two\nlines\",,end\n");
+        assertArrayEquals(new String[] { "a", "b, c", "say \"hi\"" }, csv.next());
+        assertArrayEquals(new String[] { "two\nlines", "", "end" }, csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void crlfEndsARecordAndIsKeptInsideQuotes() throws IOException {
+        CsvReader csv = reader("x,y\r\n\"p\r\nq\",z\r\nlast,row");
+        assertArrayEquals(new String[] { "x", "y" }, csv.next());
+        assertArrayEquals(new String[] { "p\r\nq", "z" }, csv.next());
+        assertArrayEquals(new String[] { "last", "row" }, csv.next());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void leadingBomIsSkipped() throws IOException {
+        CsvReader csv = reader("\uFEFFusername,role\nalice,Student\n");
+        assertArrayEquals(new String[] { "username", "role" }, csv.next());
+        assertArrayEquals(new String[] { "alice", "Student" }, csv.next());
+    }
+
+    @Test
+    void blankLinesAreSkippedAndRecordLinesCounted() throws IOException {
+        CsvReader csv = reader("a\n\n\r\n\"b\nc\"\nd\n");
+        assertArrayEquals(new String[] { "a" }, csv.next());
+        assertEquals(1, csv.recordLine());
+        assertArrayEquals(new String[] { "b\nc" }, csv.next());
+        assertEquals(4, csv.recordLine());
+        assertArrayEquals(new String[] { "d" }, csv.next());
+        assertEquals(6, csv.recordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void emptyQuotedFieldIsARecord() throws IOException {
+        CsvReader csv = reader("\"\"\n");
+        assertArrayEquals(new String[] { "" }, csv.next());
+        assertNull(csv.next());
+    }
+}
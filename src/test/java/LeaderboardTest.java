@@ -0,0 +1,61 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LeaderboardTest {
+    private static Submission graded(String presenter, PresentationType type, int score) {
+        Submission sub = new Submission(presenter, "Title", type, "S001", LocalDate.of(2026, 1, 15), "Abstract",
+                "Dr. Lee", "/slides.pdf");
+        if (score >= 0)
+            sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, score, "Good"));
+        return sub;
+    }
+
+    @Test
+    void rankedByScoreWithinEachCategory() {
+        Submission a = graded("a", PresentationType.ORAL, 70);
+        Submission b = graded("b", PresentationType.POSTER, 90);
+        Submission c = graded("c", PresentationType.ORAL, 85);
+        Submission ungraded = graded("d", PresentationType.ORAL, -1);
+        Leaderboard board = new Leaderboard();
+        board.rebuild(List.of(a, b, c, ungraded));
+
+        assertEquals(List.of(b, c, a), board.top(Leaderboard.ALL, 10));
+        assertEquals(List.of(c, a), board.top(Leaderboard.ORAL, 10));
+        assertEquals(List.of(b), board.top(Leaderboard.POSTER, 10));
+        assertEquals(List.of(b, c), board.top(Leaderboard.ALL, 2));
+        assertEquals(3, board.size(Leaderboard.ALL));
+        assertTrue(board.top("Unknown", 5).isEmpty());
+    }
+
+    @Test
+    void tiesGoToTheFirstGraded() {
+        Submission first = graded("a", PresentationType.ORAL, 80);
+        Submission second = graded("b", PresentationType.ORAL, 80);
+        Leaderboard board = new Leaderboard();
+        board.update(first);
+        board.update(second);
+        assertEquals(List.of(first, second), board.top(Leaderboard.ORAL, 10));
+    }
+
+    @Test
+    void regradingReranksTheRow() {
+        Submission a = graded("a", PresentationType.ORAL, 70);
+        Submission b = graded("b", PresentationType.ORAL, 80);
+        Leaderboard board = new Leaderboard();
+        board.rebuild(List.of(a, b));
+
+        a.setGrade(new Submission.Grade(SubmissionStatus.GRADED, 95, "Better"));
+        board.update(a);
+        assertEquals(List.of(a, b), board.top(Leaderboard.ALL, 10));
+        assertEquals(2, board.size(Leaderboard.ALL));
+
+        // Unchanged scores keep their place.
+        board.update(b);
+        assertEquals(List.of(a, b), board.top(Leaderboard.ALL, 10));
+    }
+}
@@ -0,0 +1,112 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// The original Java-serialized seminar_data.dat, with submission rows of 7 to 11 columns and
+// session rows of 5 and 6 columns, some with free-text dates, loads into the store and keeps its
+// content through the binary snapshot written on first load.
+class LegacyDataFileMigrationTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void serializedFileWithoutGenerationIsMigrated() throws Exception {
+        write(false);
+        for (int load = 0; load < 2; load++) {
+            SeminarStore store = open();
+            check(store);
+            store.close();
+            assertTrue(Files.exists(dir.resolve(SeminarStore.DATA_FILE)));
+        }
+        assertEquals(1, SeminarDataFile.readGeneration(dir.resolve(SeminarStore.DATA_FILE)));
+    }
+
+    @Test
+    void serializedGenerationIsCarriedOver() throws Exception {
+        write(true);
+        SeminarStore store = open();
+        check(store);
+        store.close();
+        assertEquals(8, SeminarDataFile.readGeneration(dir.resolve(SeminarStore.DATA_FILE)));
+    }
+
+    private void write(boolean withGeneration) throws IOException {
+        Map<String, String[]> users = new LinkedHashMap<>();
+        users.put("alice", new String[] { "pw", "Student" });
+        users.put("bob", new String[] { "pw", "Student" });
+        users.put("eve", new String[] { "pw", "Evaluator" });
+        users.put("coord1", new String[] { "pass", "Coordinator" });
+        List<String[]> subs = new ArrayList<>();
+        subs.add(new String[] { "alice", "Crop Yields", "Oral Presentation", "Pending", "TBD", "2026-01-15", "-" });
+        subs.add(new String[] { "alice", "Soil Maps", "Poster Presentation", "Graded", "S001", "2026-01-16",
+                "81/100", "Clear" });
+        subs.add(new String[] { "bob", "Rust Spread", "Oral Presentation", "Graded", "S002", "2026-01-17", "64/100",
+                "Needs data", "Abstract of rust", "Dr. Kim", "C:\\Users\\bob\\rust.pptx" });
+        List<Object[]> sessions = new ArrayList<>();
+        sessions.add(new Object[] { "S001", "k,gfmdzgFZDxhfjcgvh,jj", "Room A", "Poster", "Scheduled" });
+        sessions.add(new Object[] { "S002", "2027-12-29 23:20", "V5", "Oral", "Scheduled", "eve" });
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(dir.resolve(SeminarStore.LEGACY_DATA_FILE))))) {
+            out.writeObject(users);
+            out.writeObject(subs);
+            out.writeObject(sessions);
+            if (withGeneration)
+                out.writeLong(7);
+        }
+    }
+
+    private SeminarStore open() {
+        SeminarStore store = new SeminarStore(dir, status -> {
+        });
+        store.load();
+        return store;
+    }
+
+    private static void check(SeminarStore store) throws IOException {
+        assertEquals(Role.STUDENT, store.user("alice").role());
+        assertEquals(Role.EVALUATOR, store.user("eve").role());
+        assertEquals("pass", store.user("coord1").password());
+        assertEquals(4, store.registeredUsers().size());
+
+        Submission pending = store.findSubmission("alice", "Crop Yields");
+        assertEquals(SubmissionStatus.PENDING, pending.status());
+        assertEquals(-1, pending.score());
+        assertEquals(Submission.NO_SESSION, pending.sessionId());
+        assertEquals("2026-01-15", pending.submitted());
+        assertArrayEquals(new String[ColdFieldStore.COUNT], store.coldFields(pending));
+
+        Submission graded = store.findSubmission("alice", "Soil Maps");
+        assertEquals(81, graded.score());
+        assertEquals("Clear", graded.comment());
+        assertEquals("S001", graded.sessionId());
+        assertFalse(store.isAssigned("eve", graded));
+
+        Submission full = store.findSubmission("bob", "Rust Spread");
+        assertEquals(64, full.score());
+        assertArrayEquals(new String[] { "Abstract of rust", "Dr. Kim", "C:\\Users\\bob\\rust.pptx" },
+                store.coldFields(full));
+        assertTrue(store.isAssigned("eve", full));
+
+        List<Session> sessions = store.sessions();
+        assertEquals(2, sessions.size());
+        assertEquals("k,gfmdzgFZDxhfjcgvh,jj", sessions.get(0).date());
+        assertEquals("Room A", sessions.get(0).venue());
+        assertEquals(Session.UNASSIGNED, sessions.get(0).evaluator());
+        assertEquals(Session.parseStart("2027-12-29 23:20"), sessions.get(1).start());
+        assertEquals("eve", sessions.get(1).evaluator());
+    }
+}
@@ -0,0 +1,59 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class OpenSessionIndexTest {
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private static Session session(String id, long start) {
+        return new Session(id, start, "V1", PresentationType.ORAL, SessionStatus.SCHEDULED, "eve");
+    }
+
+    private static List<String> ids(List<Session> sessions) {
+        return sessions.stream().map(Session::id).toList();
+    }
+
+    @Test
+    void openSessionsAreListedEarliestFirst() {
+        long now = System.currentTimeMillis();
+        try (OpenSessionIndex index = new OpenSessionIndex()) {
+            index.rebuild(List.of(session("S003", now + 3 * HOUR), session("S001", now + HOUR),
+                    session("S002", now + HOUR), session("S000", now - HOUR)), s -> false);
+            assertEquals(List.of("S001", "S002", "S003"), ids(index.after(now)));
+            assertEquals(List.of("S003"), ids(index.after(now + 2 * HOUR)));
+            assertEquals(3, index.size());
+        }
+    }
+
+    @Test
+    void bookedSessionsLeave() {
+        long now = System.currentTimeMillis();
+        try (OpenSessionIndex index = new OpenSessionIndex()) {
+            index.rebuild(List.of(session("S001", now + HOUR), session("S002", now + 2 * HOUR)),
+                    s -> s.id().equals("S001"));
+            assertEquals(List.of("S002"), ids(index.after(now)));
+
+            index.add(session("S003", now + 3 * HOUR));
+            index.booked("S002");
+            index.booked("S999");
+            assertEquals(List.of("S003"), ids(index.after(now)));
+        }
+    }
+
+    @Test
+    void startedSessionsExpire() {
+        long now = System.currentTimeMillis();
+        try (OpenSessionIndex index = new OpenSessionIndex()) {
+            index.add(session("S001", now + HOUR));
+            index.add(session("S002", now + 2 * HOUR));
+            index.expire(now + HOUR);
+            assertEquals(List.of("S002"), ids(index.after(now)));
+            assertEquals(1, index.size());
+            index.expire(now + 2 * HOUR);
+            assertTrue(index.after(now).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ReportEngineTest {
+    private static Submission submission(String presenter, PresentationType type, String sessionId, int score) {
+        Submission sub = new Submission(presenter, presenter + "'s Research", type, sessionId,
+                LocalDate.of(2026, 1, 15), "Abstract", "Dr. Lee", "/slides.pdf");
+        if (score >= 0)
+            sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, score, "Good"));
+        return sub;
+    }
+
+    private static Session session(String id, String venue, String evaluator) {
+        return new Session(id, Session.parseStart("2027-03-01 09:00"), venue, PresentationType.ORAL,
+                SessionStatus.SCHEDULED, evaluator);
+    }
+
+    private static final List<Submission> SUBMISSIONS = List.of(
+            submission("alice", PresentationType.ORAL, "S001", 90),
+            submission("bob", PresentationType.POSTER, "S002", 70),
+            submission("carol", PresentationType.ORAL, "S003", 80),
+            submission("dave", PresentationType.ORAL, Submission.NO_SESSION, -1));
+    private static final List<Session> SESSIONS = List.of(session("S001", "V1", "eve"),
+            session("S002", "V1", "frank"), session("S003", "V2", "eve"), session("S004", "V2", "eve"));
+
+    private static List<String> lines(String type) {
+        StringBuilder text = new StringBuilder();
+        new ReportEngine(SUBMISSIONS, SESSIONS, new TextReportSink(text::append)).generate(type);
+        return List.of(text.toString().split("\n"));
+    }
+
+    // The first line starting with the prefix, with its column padding squeezed to single spaces.
+    private static String lineStarting(List<String> lines, String prefix) {
+        for (String line : lines) {
+            String words = line.replaceAll(" +", " ").trim();
+            if (words.startsWith(prefix))
+                return words;
+        }
+        throw new AssertionError("No line starting " + prefix + " in " + lines);
+    }
+
+    @Test
+    void evaluationSummaryAggregatesScores() {
+        List<String> lines = lines(ReportEngine.EVALUATION_SUMMARY);
+        assertEquals("=== EVALUATION SUMMARY ===", lines.get(0));
+        assertEquals("Graded: 3 Pending: 1", lineStarting(lines, "Graded:"));
+        assertEquals("Average score: 80.0 Std Dev: 8.2 Min: 70 Median: 80 Max: 90",
+                lineStarting(lines, "Average score:"));
+        assertEquals("90-100 1 33.3%", lineStarting(lines, "90-100"));
+        assertEquals("eve 2 2 85.0 5.0 80", lineStarting(lines, "eve"));
+        assertEquals("TBD Unassigned 1 0 - - -", lineStarting(lines, "TBD"));
+    }
+
+    @Test
+    void attendanceCountsPresentersPerSessionAndVenue() {
+        List<String> lines = lines(ReportEngine.ATTENDANCE);
+        assertEquals("S004 2027-03-01 09:00 V2 0", lineStarting(lines, "S004"));
+        assertEquals("V1 2 2", lineStarting(lines, "V1 "));
+        assertEquals("Sessions without presenters: 1", lineStarting(lines, "Sessions without"));
+        assertEquals("Submissions without a scheduled session: 1", lineStarting(lines, "Submissions without"));
+    }
+
+    @Test
+    void awardWinnersAreRankedByScore() {
+        List<String> lines = lines(ReportEngine.AWARD_WINNERS);
+        assertEquals("Best Oral Presentation 1 alice 90/100 alice's Research",
+                lineStarting(lines, "Best Oral Presentation 1"));
+        assertEquals("Best Oral Presentation 2 carol 80/100 carol's Research",
+                lineStarting(lines, "Best Oral Presentation 2"));
+        assertEquals("Research Excellence 3 bob 70/100 bob's Research",
+                lineStarting(lines, "Research Excellence 3"));
+    }
+
+    @Test
+    void progressEndsAtOneHundred() {
+        List<Integer> progress = new ArrayList<>();
+        ReportEngine engine = new ReportEngine(SUBMISSIONS, SESSIONS, new TextReportSink(chunk -> {
+        }));
+        engine.setProgressListener(progress::add);
+        engine.generate(ReportEngine.SUBMISSION_LIST);
+        assertEquals(100, progress.get(progress.size() - 1));
+        for (int i = 1; i < progress.size(); i++)
+            assertTrue(progress.get(i) > progress.get(i - 1));
+        assertThrows(IllegalArgumentException.class, () -> engine.generate("Nonsense"));
+    }
+
+    // The text arrives in chunks of whole lines, never the whole report at once.
+    @Test
+    void textIsHandedOnInChunks() {
+        List<String> chunks = new ArrayList<>();
+        TextReportSink sink = new TextReportSink(chunks::add);
+        sink.table("Rows", "Key", "Value");
+        for (int i = 0; i < 5000; i++)
+            sink.row("key" + i, i);
+        sink.finish();
+        assertTrue(chunks.size() > 1);
+        for (String chunk : chunks) {
+            assertTrue(chunk.endsWith("\n"));
+            assertTrue(chunk.length() < 9000);
+        }
+        assertEquals("key4999               4999\n", chunks.get(chunks.size() - 1).substring(
+                chunks.get(chunks.size() - 1).lastIndexOf("key4999")));
+    }
+}
@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReportSinkTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void csvQuotesOnlyCellsThatNeedIt() throws Exception {
+        Path file = dir.resolve("report.csv");
+        try (ChannelWriter out = new ChannelWriter(file, StandardCharsets.UTF_8)) {
+            CsvReportSink sink = new CsvReportSink(out);
+            sink.title("Submission List");
+            sink.table("All submissions", "Presenter", "Title", "Score");
+            sink.row("alice", "Crops, Soil and \"Yield\"", 81);
+            sink.row("bob", "Two\nlines", "-");
+            sink.line("");
+            sink.finish();
+        }
+        assertEquals("Submission List\r\n\r\nAll submissions\r\nPresenter,Title,Score\r\n"
+                + "alice,\"Crops, Soil and \"\"Yield\"\"\",81\r\nbob,\"Two\nlines\",-\r\n\r\n",
+                Files.readString(file));
+    }
+
+    // 62 lines fill a page; every cross-reference offset points at its object and startxref at the
+    // table.
+    @Test
+    void pdfPagesAndCrossReferencesAreConsistent() throws Exception {
+        Path file = dir.resolve("report.pdf");
+        try (ChannelWriter out = new ChannelWriter(file, StandardCharsets.ISO_8859_1)) {
+            PdfReportSink sink = new PdfReportSink(out);
+            sink.title("Attendance (draft)");
+            for (int i = 1; i < 124; i++)
+                sink.line("Line " + i + " \\ done");
+            sink.finish();
+        }
+        String pdf = Files.readString(file, StandardCharsets.ISO_8859_1);
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        assertTrue(pdf.contains("/Count 2 >>"));
+        assertTrue(pdf.contains("(=== ATTENDANCE \\(DRAFT\\) ===) Tj T*"));
+        assertTrue(pdf.contains("(Line 123 \\\\ done) Tj T*"));
+
+        int xref = Integer.parseInt(pdf.substring(pdf.lastIndexOf("startxref\n") + 10, pdf.lastIndexOf("\n%%EOF")));
+        assertTrue(pdf.startsWith("xref\n", xref));
+        Matcher entry = Pattern.compile("(\\d{10}) 00000 n ").matcher(pdf.substring(xref));
+        int object = 1;
+        while (entry.find()) {
+            int offset = Integer.parseInt(entry.group(1));
+            assertTrue(pdf.startsWith(object + " 0 obj\n", offset), "object " + object);
+            object++;
+        }
+        // Catalog, page tree, font, and a contents stream and page per page.
+        assertEquals(3 + 2 * 2 + 1, object);
+
+        try (ChannelWriter out = new ChannelWriter(file, StandardCharsets.ISO_8859_1)) {
+            PdfReportSink sink = new PdfReportSink(out);
+            sink.title("Attendance");
+            for (int i = 1; i < 125; i++)
+                sink.line("Line " + i);
+            sink.finish();
+        }
+        assertTrue(Files.readString(file, StandardCharsets.ISO_8859_1).contains("/Count 3 >>"));
+    }
+}
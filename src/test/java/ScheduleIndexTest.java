@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ScheduleIndexTest {
+    private static final long NINE = Session.parseStart("2027-03-01 09:00");
+    private static final long MINUTE = 60 * 1000;
+
+    private static Session session(String id, long start, String venue, String evaluator) {
+        return new Session(id, start, venue, PresentationType.ORAL, SessionStatus.SCHEDULED, evaluator);
+    }
+
+    @Test
+    void windowIsExclusiveAtTwentyMinutes() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(session("S001", NINE, "V1", "eve"));
+        assertEquals(1, index.conflicts(NINE + 19 * MINUTE, "V1", "frank").size());
+        assertEquals(1, index.conflicts(NINE - 19 * MINUTE, "V1", "frank").size());
+        assertTrue(index.conflicts(NINE + 20 * MINUTE, "V1", "frank").isEmpty());
+        assertTrue(index.conflicts(NINE - 20 * MINUTE, "V1", "frank").isEmpty());
+    }
+
+    @Test
+    void conflictsSayWhetherTheVenueTheEvaluatorOrBothClash() {
+        ScheduleIndex index = new ScheduleIndex();
+        Session sameVenue = session("S001", NINE, "V1", "frank");
+        Session sameEvaluator = session("S002", NINE + 5 * MINUTE, "V2", "eve");
+        Session both = session("S003", NINE - 5 * MINUTE, "V1", "eve");
+        index.rebuild(List.of(sameVenue, sameEvaluator, both, session("S004", NINE, "V3", "gina")));
+
+        List<ScheduleIndex.Conflict> conflicts = index.conflicts(NINE, "V1", "eve");
+        assertEquals(3, conflicts.size());
+        assertSame(both, conflicts.get(0).session);
+        assertTrue(conflicts.get(0).venue && conflicts.get(0).evaluator);
+        assertSame(sameVenue, conflicts.get(1).session);
+        assertTrue(conflicts.get(1).venue);
+        assertFalse(conflicts.get(1).evaluator);
+        assertSame(sameEvaluator, conflicts.get(2).session);
+        assertFalse(conflicts.get(2).venue);
+        assertTrue(conflicts.get(2).evaluator);
+    }
+
+    @Test
+    void sessionsWithoutAStartNeverConflict() {
+        ScheduleIndex index = new ScheduleIndex();
+        index.add(session("S001", Session.NO_START, "V1", "eve"));
+        assertTrue(index.conflicts(Session.NO_START + 1, "V1", "eve").isEmpty());
+    }
+}
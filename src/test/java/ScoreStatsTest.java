@@ -0,0 +1,84 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ScoreStatsTest {
+    private static Submission submission(String presenter, PresentationType type, String sessionId, int score,
+            int[] rubric) {
+        Submission sub = new Submission(presenter, "Title", type, sessionId, LocalDate.of(2026, 1, 15), "Abstract",
+                "Dr. Lee", "/slides.pdf");
+        if (score >= 0)
+            sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, score, "Good", rubric));
+        return sub;
+    }
+
+    @Test
+    void totalsMatchTheScores() {
+        ScoreStats stats = new ScoreStats();
+        int[] scores = { 60, 70, 80, 90 };
+        for (int i = 0; i < scores.length; i++)
+            stats.update(submission("s" + i, PresentationType.ORAL, "S001", scores[i], null), "eve");
+        stats.update(submission("ungraded", PresentationType.ORAL, "S001", -1, null), "eve");
+
+        ScoreStats.Summary total = stats.total();
+        assertEquals(5, total.submissions());
+        assertEquals(4, total.graded());
+        assertEquals(75.0, total.mean(), 1e-9);
+        assertEquals(Math.sqrt(125), total.stddev(), 1e-9);
+        assertEquals(60, total.min());
+        assertEquals(90, total.max());
+        assertEquals(70, total.percentile(0.5));
+        assertEquals(80, total.percentile(0.75));
+        assertEquals(2, total.countBetween(65, 85));
+    }
+
+    @Test
+    void groupsAreKeptPerDimension() {
+        ScoreStats stats = new ScoreStats();
+        stats.rebuild(List.of(submission("a", PresentationType.ORAL, "S001", 80, null),
+                submission("b", PresentationType.POSTER, "S002", 60, null),
+                submission("c", PresentationType.POSTER, Submission.NO_SESSION, -1, null)),
+                sub -> sub.sessionId().equals("S001") ? "eve" : sub.isScheduled() ? "frank" : Session.UNASSIGNED);
+
+        assertEquals(80.0, stats.summary(ScoreStats.SESSION, "S001").mean(), 1e-9);
+        assertEquals(60.0, stats.summary(ScoreStats.EVALUATOR, "frank").mean(), 1e-9);
+        assertEquals(2, stats.summary(ScoreStats.TYPE, "Poster Presentation").submissions());
+        assertEquals(1, stats.summary(ScoreStats.TYPE, "Poster Presentation").graded());
+        assertEquals(0, stats.summary(ScoreStats.SESSION, "S999").submissions());
+        Map<String, ScoreStats.Summary> byEvaluator = stats.summaries(ScoreStats.EVALUATOR);
+        assertEquals(List.of(Session.UNASSIGNED, "eve", "frank"), List.copyOf(byEvaluator.keySet()));
+        assertThrows(IllegalArgumentException.class, () -> stats.summary("room", "V1"));
+    }
+
+    // A regrade or booking takes the row's old contribution back out of every group it was in.
+    @Test
+    void regradesAndBookingsMoveTheRow() {
+        ScoreStats stats = new ScoreStats();
+        Submission sub = submission("a", PresentationType.ORAL, Submission.NO_SESSION, -1, null);
+        stats.update(sub, Session.UNASSIGNED);
+
+        sub.setSession("S001");
+        stats.update(sub, "eve");
+        assertEquals(0, stats.summary(ScoreStats.SESSION, Submission.NO_SESSION).submissions());
+        assertEquals(1, stats.summary(ScoreStats.EVALUATOR, "eve").submissions());
+
+        sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, 84, "Good", new int[] { 20, 21, 22, 21 }));
+        stats.update(sub, "eve");
+        sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, 88, "Better", new int[] { 22, 22, 22, 22 }));
+        stats.update(sub, "eve");
+
+        ScoreStats.Summary eve = stats.summary(ScoreStats.EVALUATOR, "eve");
+        assertEquals(1, eve.graded());
+        assertEquals(88.0, eve.mean(), 1e-9);
+        assertEquals(1, eve.rubricGraded());
+        assertEquals(22.0, eve.rubricMean(0), 1e-9);
+        assertEquals(1, stats.total().submissions());
+        assertTrue(Double.isNaN(stats.summary(ScoreStats.SESSION, "S002").mean()));
+    }
+}
@@ -0,0 +1,96 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SearchIndexTest {
+    private static Submission submission(String presenter, String title) {
+        return new Submission(presenter, title, PresentationType.ORAL, Submission.NO_SESSION,
+                LocalDate.of(2026, 1, 15), null, null, null);
+    }
+
+    private static String[] text(Submission sub) {
+        return new String[] { "Abstract of " + sub.title(), "Dr. " + sub.presenter() };
+    }
+
+    @Test
+    void searchesAreBuildingUntilBuilt() throws Exception {
+        SearchIndex index = new SearchIndex();
+        List<Submission> subs = List.of(submission("alice", "Crop Yields"));
+        assertTrue(index.search("crop").building());
+        assertNull(index.search("  ,. "));
+
+        index.build(() -> subs, SearchIndexTest::text);
+        assertTrue(index.isBuilt());
+        assertFalse(index.search("crop").building());
+    }
+
+    @Test
+    void wordsArePrefixesAndAreAnded() throws Exception {
+        SearchIndex index = new SearchIndex();
+        Submission crops = submission("alice", "Crop Yields");
+        Submission soil = submission("bob", "Soil Maps");
+        Submission cropSoil = submission("carol", "Cropland Soil Survey");
+        List<Submission> subs = List.of(crops, soil, cropSoil);
+        index.build(() -> subs, SearchIndexTest::text);
+
+        SearchIndex.Matches crop = index.search("CROP");
+        assertEquals(2, crop.size());
+        assertTrue(crop.contains(crops));
+        assertTrue(crop.contains(cropSoil));
+
+        SearchIndex.Matches both = index.search("crop soil");
+        assertEquals(1, both.size());
+        assertTrue(both.contains(cropSoil));
+
+        assertTrue(index.search("dr. bob").contains(soil));
+        assertEquals(0, index.search("wheat").size());
+    }
+
+    @Test
+    void submissionsAddedAfterTheBuildAreFound() throws Exception {
+        SearchIndex index = new SearchIndex();
+        index.build(() -> List.of(submission("alice", "Crop Yields")), SearchIndexTest::text);
+        Submission late = submission("dave", "Wheat Rust");
+        index.add(late, "Fungal spread", "Dr. Kim");
+        assertTrue(index.search("wheat fung").contains(late));
+        assertTrue(index.search("kim").contains(late));
+    }
+
+    // The cold text is read with the lock released, so add() from another thread completes while the
+    // build is still reading, and the added submission is found once the build is done.
+    @Test
+    void addDoesNotWaitForTheColdReads() throws Exception {
+        SearchIndex index = new SearchIndex();
+        List<Submission> subs = new ArrayList<>();
+        for (int i = 0; i < 600; i++)
+            subs.add(submission("student" + i, "Title " + i));
+        Submission late = submission("erin", "Late Entry");
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            index.build(() -> subs, sub -> {
+                if (sub == subs.get(300))
+                    try {
+                        other.submit(() -> index.add(late, "Written during the build", null)).get(5,
+                                TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new AssertionError("add() waited for the build", e);
+                    }
+                return text(sub);
+            });
+        } finally {
+            other.shutdownNow();
+        }
+        assertTrue(index.search("late written").contains(late));
+        assertEquals(600, index.search("title").size());
+    }
+}
@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A version 1 snapshot, with the cold fields inline in the submission rows, is loaded and
+// rewritten as version 3 with the same content.
+class SeminarDataFileMigrationTest {
+    private static final String[][] USERS = { { "alice", "pw", "Student" }, { "eve", "pw", "Evaluator" },
+            { "coord1", "pass", "Coordinator" } };
+    private static final String[][] SUBMISSIONS = {
+            { "alice", "Crop Yields", "Oral Presentation", "Graded", "S001", "2026-01-15", "81/100", "Clear",
+                    "Abstract one", "Dr. Lee", "/home/alice/slides.pdf" },
+            { "alice", "Soil Maps", "Poster Presentation", "Pending", "TBD", "2026-01-16", "-", "-", null, null,
+                    null } };
+    private static final String[][] SESSIONS = {
+            { "S001", "2026-02-01 09:00", "V1", "Oral", "Scheduled", "eve" } };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void versionOneSnapshotIsRewrittenAsVersionThree() throws Exception {
+        Path file = dir.resolve(SeminarStore.DATA_FILE);
+        Files.write(file, versionOne(5));
+        try (SeminarDataFile original = SeminarDataFile.open(file)) {
+            assertEquals(1, original.getVersion());
+        }
+
+        SeminarStore store = open();
+        check(store);
+        store.close();
+
+        try (SeminarDataFile rewritten = SeminarDataFile.open(file)) {
+            assertEquals(SeminarDataFile.VERSION, rewritten.getVersion());
+            assertEquals(6, rewritten.getGeneration());
+        }
+
+        store = open();
+        check(store);
+        store.close();
+    }
+
+    private SeminarStore open() {
+        SeminarStore store = new SeminarStore(dir, status -> {
+        });
+        store.load();
+        return store;
+    }
+
+    private static void check(SeminarStore store) throws IOException {
+        assertEquals(Role.STUDENT, store.user("alice").role());
+        assertEquals(Role.EVALUATOR, store.user("eve").role());
+
+        Submission graded = store.findSubmission("alice", "Crop Yields");
+        assertNotNull(graded);
+        assertEquals(81, graded.score());
+        assertEquals("S001", graded.sessionId());
+        assertArrayEquals(new String[] { "Abstract one", "Dr. Lee", "/home/alice/slides.pdf" },
+                store.coldFields(graded));
+
+        Submission pending = store.findSubmission("alice", "Soil Maps");
+        assertEquals(SubmissionStatus.PENDING, pending.status());
+        assertArrayEquals(new String[ColdFieldStore.COUNT], store.coldFields(pending));
+
+        List<Session> sessions = store.sessions();
+        assertEquals(1, sessions.size());
+        assertEquals("V1", sessions.get(0).venue());
+        assertEquals("eve", sessions.get(0).evaluator());
+    }
+
+    // Header [magic][version][section count][generation][section offsets], then per section
+    // [record count][record offsets][records], each record [field count][null mask][field end
+    // offsets][UTF-8 bytes].
+    private static byte[] versionOne(long generation) {
+        String[][][] sections = { USERS, SUBMISSIONS, SESSIONS };
+        int header = 4 + 2 + 2 + 8 + sections.length * 8;
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        long[] sectionOffsets = new long[sections.length];
+        for (int s = 0; s < sections.length; s++) {
+            String[][] rows = sections[s];
+            sectionOffsets[s] = header + body.size();
+            byte[][] records = new byte[rows.length][];
+            for (int r = 0; r < rows.length; r++)
+                records[r] = record(rows[r]);
+            long pos = sectionOffsets[s] + 4 + 8L * rows.length;
+            ByteBuffer table = ByteBuffer.allocate(4 + 8 * rows.length).putInt(rows.length);
+            for (byte[] record : records) {
+                table.putLong(pos);
+                pos += record.length;
+            }
+            body.writeBytes(table.array());
+            for (byte[] record : records)
+                body.writeBytes(record);
+        }
+        ByteBuffer file = ByteBuffer.allocate(header + body.size());
+        file.putInt(0x534D4442).putShort((short) 1).putShort((short) sections.length).putLong(generation);
+        for (long offset : sectionOffsets)
+            file.putLong(offset);
+        file.put(body.toByteArray());
+        return file.array();
+    }
+
+    private static byte[] record(String[] row) {
+        byte[][] bytes = new byte[row.length][];
+        int mask = 0;
+        int length = 0;
+        for (int i = 0; i < row.length; i++) {
+            if (row[i] == null)
+                mask |= 1 << i;
+            else
+                bytes[i] = row[i].getBytes(StandardCharsets.UTF_8);
+            length += bytes[i] == null ? 0 : bytes[i].length;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(4 + 4 * row.length + length);
+        buf.putShort((short) row.length).putShort((short) mask);
+        int end = 0;
+        for (byte[] b : bytes) {
+            end += b == null ? 0 : b.length;
+            buf.putInt(end);
+        }
+        for (byte[] b : bytes) {
+            if (b != null)
+                buf.put(b);
+        }
+        return buf.array();
+    }
+}
@@ -0,0 +1,74 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SeminarDataFileTest {
+    @TempDir
+    Path dir;
+
+    private Path write(int submissions) throws IOException {
+        List<String[]> users = List.<String[]>of(new String[] { "alice", "pw", "Student" },
+                new String[] { "eve", "pw", "Evaluator" });
+        List<String[]> subs = new ArrayList<>();
+        for (int i = 0; i < submissions; i++)
+            subs.add(new String[] { "alice", "Title " + i, "Oral Presentation", "Pending", "TBD", "2026-01-15", "-",
+                    "-", i % 2 == 0 ? null : Long.toString(i * 100L) });
+        List<String[]> sessions = List.<String[]>of(new String[] { "S001", "2027-03-01 09:00", "V1", "Oral", "Scheduled", "eve" });
+        Path file = dir.resolve("data.bin");
+        SeminarDataFile.write(file, 9, users, subs, sessions);
+        return file;
+    }
+
+    // Sections are read in any order, each replacing the last, and dictionary columns still share
+    // one String across sections.
+    @Test
+    void sectionsReadInAnyOrder() throws Exception {
+        Path file = write(5000);
+        try (SeminarDataFile data = SeminarDataFile.open(file)) {
+            assertEquals(9, data.getGeneration());
+            assertEquals(1, data.count(SeminarDataFile.SESSIONS));
+            assertEquals(5000, data.count(SeminarDataFile.SUBMISSIONS));
+            assertEquals("Title 4321", data.field(SeminarDataFile.SUBMISSIONS, 4321, 1));
+            assertNull(data.field(SeminarDataFile.SUBMISSIONS, 4320, 8));
+            assertEquals("432100", data.field(SeminarDataFile.SUBMISSIONS, 4321, 8));
+            assertArrayEquals(new String[] { "eve", "pw", "Evaluator" }, data.row(SeminarDataFile.USERS, 1));
+            assertEquals("Oral Presentation", data.field(SeminarDataFile.SUBMISSIONS, 0, 2));
+            assertSame(data.field(SeminarDataFile.SUBMISSIONS, 1, 2), data.field(SeminarDataFile.SUBMISSIONS, 2, 2));
+            assertEquals("eve", data.field(SeminarDataFile.SESSIONS, 0, 5));
+        }
+    }
+
+    // Nothing holds the file once it is closed, so a checkpoint can move a new snapshot over it.
+    @Test
+    void closedFileCanBeReplaced() throws Exception {
+        Path file = write(10);
+        Path next = dir.resolve("data.bin.tmp");
+        try (SeminarDataFile data = SeminarDataFile.open(file)) {
+            assertEquals(10, data.count(SeminarDataFile.SUBMISSIONS));
+            Files.copy(file, next);
+        }
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        assertEquals(9, SeminarDataFile.readGeneration(file));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws Exception {
+        Path file = dir.resolve("other.bin");
+        Files.writeString(file, "not a seminar data file at all, just text");
+        assertThrows(IOException.class, () -> SeminarDataFile.open(file));
+        Files.write(file, new byte[3]);
+        assertThrows(IOException.class, () -> SeminarDataFile.open(file));
+    }
+}
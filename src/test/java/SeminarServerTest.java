@@ -0,0 +1,113 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SeminarServerTest {
+    @TempDir
+    Path dir;
+
+    private SeminarService service;
+    private SeminarServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void open() throws Exception {
+        service = new SeminarService(new SeminarStore(dir, status -> {
+        }));
+        service.load();
+        server = start(SeminarServer.TOKEN_TTL);
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        server.stop();
+        service.close();
+    }
+
+    private SeminarServer start(long tokenTtl) throws Exception {
+        SeminarServer s = new SeminarServer(service, 0, tokenTtl);
+        s.start();
+        return s;
+    }
+
+    private HttpResponse<String> call(SeminarServer to, String method, String path, String token, String json)
+            throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + to.getPort() + path))
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(json));
+        if (token != null)
+            request.header("Authorization", "Bearer " + token);
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String login(SeminarServer to, String username, String password) throws Exception {
+        HttpResponse<String> response = call(to, "POST", "/api/login", null,
+                "{\"username\":" + Json.quote(username) + ",\"password\":" + Json.quote(password) + "}");
+        assertEquals(200, response.statusCode(), response.body());
+        return Json.parseObject(response.body()).get("token");
+    }
+
+    private static String user(String username, String role) {
+        return "{\"username\":" + Json.quote(username) + ",\"password\":\"pw\",\"role\":" + Json.quote(role) + "}";
+    }
+
+    @Test
+    void anyoneCanRegisterAStudentButOnlyACoordinatorCreatesStaff() throws Exception {
+        assertEquals(201, call(server, "POST", "/api/users", null, user("alice", "Student")).statusCode());
+        assertEquals(401, call(server, "POST", "/api/users", null, user("mallory", "Coordinator")).statusCode());
+        assertEquals(401, call(server, "POST", "/api/users", null, user("mallory", "Evaluator")).statusCode());
+
+        String student = login(server, "alice", "pw");
+        assertEquals(403, call(server, "POST", "/api/users", student, user("mallory", "Coordinator")).statusCode());
+        assertNull(service.roleOf("mallory"));
+
+        String coordinator = login(server, "coord1", "pass");
+        assertEquals(201, call(server, "POST", "/api/users", coordinator, user("eve", "Evaluator")).statusCode());
+        assertEquals(Role.EVALUATOR, service.roleOf("eve"));
+    }
+
+    @Test
+    void tokensExpire() throws Exception {
+        SeminarServer shortLived = start(0);
+        try {
+            String token = login(shortLived, "coord1", "pass");
+            HttpResponse<String> response = call(shortLived, "GET", "/api/users", token, null);
+            assertEquals(401, response.statusCode());
+            assertTrue(response.body().contains("expired"));
+        } finally {
+            shortLived.stop();
+        }
+        String token = login(server, "coord1", "pass");
+        assertEquals(200, call(server, "GET", "/api/users", token, null).statusCode());
+    }
+
+    @Test
+    void studentSubmitsAndListsOwnRows() throws Exception {
+        service.register("alice", "pw", "Student");
+        service.register("bob", "pw", "Student");
+        String alice = login(server, "alice", "pw");
+        HttpResponse<String> created = call(server, "POST", "/api/submissions", alice,
+                "{\"title\":\"Crop Yields\",\"type\":\"Oral Presentation\",\"session\":\"TBD\","
+                        + "\"abstract\":\"About crops\",\"supervisor\":\"Dr. Lee\",\"file\":\"/slides.pdf\"}");
+        assertEquals(201, created.statusCode(), created.body());
+        assertEquals("alice", Json.parseObject(created.body()).get("presenter"));
+
+        assertTrue(call(server, "GET", "/api/submissions", alice, null).body().contains("Crop Yields"));
+        String bob = login(server, "bob", "pw");
+        assertEquals("[]", call(server, "GET", "/api/submissions", bob, null).body());
+        assertEquals(403, call(server, "GET", "/api/submissions/detail?presenter=alice&title=Crop%20Yields", bob,
+                null).statusCode());
+        assertEquals(401, call(server, "GET", "/api/submissions", null, null).statusCode());
+    }
+}
@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SeminarServiceTest {
+    @TempDir
+    Path dir;
+
+    private SeminarStore store;
+    private SeminarService service;
+
+    @BeforeEach
+    void open() throws Exception {
+        reopen();
+        service.register("alice", "pw", "Student");
+    }
+
+    private void reopen() throws Exception {
+        store = new SeminarStore(dir, status -> {
+        });
+        service = new SeminarService(store);
+        service.load();
+    }
+
+    @AfterEach
+    void close() throws Exception {
+        service.close();
+    }
+
+    private Submission submit(String presenter, String title) throws ServiceException {
+        return service.submit(presenter, title, "Oral Presentation", Submission.NO_SESSION, "Abstract",
+                "Dr. Lee", "/slides.pdf");
+    }
+
+    @Test
+    void presenterAndTitleAreTrimmedBeforeTheDuplicateCheck() throws Exception {
+        Submission sub = submit(" alice ", "  Crop Yields ");
+        assertEquals("alice", sub.presenter());
+        assertEquals("Crop Yields", sub.title());
+
+        ServiceException e = assertThrows(ServiceException.class, () -> submit("alice", "Crop Yields  "));
+        assertEquals(ServiceException.CONFLICT, e.getStatus());
+        assertEquals(1, service.submissionsOf("alice").size());
+    }
+
+    // Rows name their presenter and evaluator with the registered user's own String, when they are
+    // created and when they are loaded back.
+    @Test
+    void namesShareTheUsersInstance() throws Exception {
+        service.register("eve", "pw", "Evaluator");
+        long start = Session.parseStart("2099-01-01 09:00");
+        Session session = service.createSession(start, "V1", "Oral", new String("eve"));
+        Submission sub = service.submit(new String("alice"), "Crop Yields", "Oral Presentation", session.id(),
+                "Abstract", "Dr. Lee", "/slides.pdf");
+        assertSame(store.user("alice").username(), sub.presenter());
+        assertSame(store.user("eve").username(), session.evaluator());
+
+        service.close();
+        reopen();
+        assertSame(store.user("alice").username(), store.findSubmission("alice", "Crop Yields").presenter());
+        assertSame(store.user("eve").username(), store.sessions().get(0).evaluator());
+    }
+}
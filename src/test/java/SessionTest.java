@@ -0,0 +1,71 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SessionTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void parsedDateIsStoredInTheFixedFormat() {
+        Session s = Session.fromFields(new String[] { "S001", "2026-02-01 09:00", "V1", "Oral", "Scheduled", "eve" });
+        assertEquals(Session.parseStart("2026-02-01 09:00"), s.start());
+        assertArrayEquals(new String[] { "S001", "2026-02-01 09:00", "V1", "Oral", "Scheduled", "eve" },
+                s.toFields());
+    }
+
+    @Test
+    void freeTextDateHasNoStartAndIsWrittenBackUnchanged() {
+        Session s = Session.fromFields(new Object[] { "S002", "next Tuesday, after lunch", "Hall", "Poster",
+                "Scheduled" });
+        assertEquals(Session.NO_START, s.start());
+        assertEquals("next Tuesday, after lunch", s.date());
+        assertArrayEquals(new String[] { "S002", "next Tuesday, after lunch", "Hall", "Poster", "Scheduled",
+                Session.UNASSIGNED }, s.toFields());
+    }
+
+    @Test
+    void missingDateStaysMissing() {
+        Session s = Session.fromFields(new String[] { "S003", "-", "V1", "Oral", "Scheduled", "eve" });
+        assertEquals(Session.NO_START, s.start());
+        assertEquals("-", s.date());
+    }
+
+    // The 5-column rows and free-text dates of the original serialized file survive the upgrade to
+    // the binary snapshot and a second load of it.
+    @Test
+    void legacyFreeTextDatesSurviveMigration() throws Exception {
+        List<Object[]> sessions = new ArrayList<>();
+        sessions.add(new Object[] { "S001", "k,gfmdzgFZDxhfjcgvh,jj", "Room A", "Oral", "Scheduled" });
+        sessions.add(new Object[] { "S002", "2027-12-29 23:20", "V5", "Oral", "Scheduled", "e1" });
+        try (ObjectOutputStream out = new ObjectOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(dir.resolve(SeminarStore.LEGACY_DATA_FILE))))) {
+            out.writeObject(new HashMap<String, String[]>());
+            out.writeObject(new ArrayList<String[]>());
+            out.writeObject(sessions);
+        }
+
+        for (int load = 0; load < 2; load++) {
+            SeminarStore store = new SeminarStore(dir, status -> {
+            });
+            store.load();
+            List<Session> loaded = store.sessions();
+            assertEquals("k,gfmdzgFZDxhfjcgvh,jj", loaded.get(0).date());
+            assertEquals(Session.UNASSIGNED, loaded.get(0).evaluator());
+            assertEquals("2027-12-29 23:20", loaded.get(1).date());
+            store.close();
+            assertTrue(Files.exists(dir.resolve(SeminarStore.DATA_FILE)));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StoreTableModelTest {
+    // {id, score}
+    private final List<int[]> rows = new ArrayList<>();
+    private final List<TableModelEvent> events = new ArrayList<>();
+    private StoreTableModel<int[]> model;
+
+    @BeforeEach
+    void open() throws Exception {
+        for (int i = 0; i < 10; i++)
+            rows.add(new int[] { i, 10 * i });
+        SwingUtilities.invokeAndWait(() -> {
+            model = new StoreTableModel<>(() -> rows).column("Id", r -> r[0], r -> r[0]).column("Score", r -> r[1],
+                    r -> r[1]);
+            model.addTableModelListener(events::add);
+        });
+    }
+
+    private static boolean isRowUpdate(TableModelEvent e, int row) {
+        return e.getType() == TableModelEvent.UPDATE && e.getFirstRow() == row && e.getLastRow() == row;
+    }
+
+    private void onEventThread(Runnable r) throws Exception {
+        SwingUtilities.invokeAndWait(r);
+        // Runs any rebuild the call queued.
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+
+    @Test
+    void inStoreOrderOnlyTheChangedRowRepaints() throws Exception {
+        onEventThread(() -> {
+            rows.get(4)[1] = 99;
+            model.rowChanged(rows.get(4));
+        });
+        assertEquals(1, events.size());
+        assertTrue(isRowUpdate(events.get(0), 4));
+    }
+
+    @Test
+    void aChangeThatKeepsTheOrderDoesNotResort() throws Exception {
+        onEventThread(() -> model.sortBy(1, true));
+        assertSame(rows.get(9), model.rowAt(0));
+        events.clear();
+
+        onEventThread(() -> {
+            rows.get(5)[1] = 55;
+            model.rowChanged(rows.get(5));
+        });
+        assertEquals(1, events.size());
+        assertTrue(isRowUpdate(events.get(0), 4));
+    }
+
+    @Test
+    void aChangeOutOfOrderResorts() throws Exception {
+        onEventThread(() -> model.sortBy(1, false));
+        events.clear();
+
+        onEventThread(() -> {
+            rows.get(2)[1] = 1000;
+            model.rowChanged(rows.get(2));
+        });
+        assertEquals(1, events.size());
+        assertEquals(Integer.MAX_VALUE, events.get(0).getLastRow());
+        assertSame(rows.get(2), model.rowAt(9));
+        assertSame(rows.get(3), model.rowAt(2));
+    }
+
+    @Test
+    void aRowLeavingTheFilterIsDropped() throws Exception {
+        onEventThread(() -> model.setFilter(r -> r[1] < 50));
+        assertEquals(5, model.getRowCount());
+
+        onEventThread(() -> {
+            rows.get(1)[1] = 70;
+            model.rowChanged(rows.get(1));
+            rows.get(8)[1] = 0;
+            model.rowChanged(rows.get(8));
+        });
+        assertEquals(5, model.getRowCount());
+        assertSame(rows.get(8), model.rowAt(4));
+    }
+}
@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class StripedLockTest {
+    @Test
+    void sameKeyExcludesOtherThreadsUntilClosed() throws Exception {
+        StripedLock locks = new StripedLock(StripedLock.DEFAULT_STRIPES);
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            AtomicBoolean entered = new AtomicBoolean();
+            Future<?> waiter;
+            try (StripedLock.Held held = locks.lock("alice")) {
+                waiter = other.submit(() -> {
+                    try (StripedLock.Held h = locks.lock("alice")) {
+                        entered.set(true);
+                    }
+                });
+                Thread.sleep(100);
+                assertFalse(entered.get());
+            }
+            waiter.get(5, TimeUnit.SECONDS);
+            assertTrue(entered.get());
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void repeatedAndNestedKeysAreReleasedInFull() throws Exception {
+        StripedLock locks = new StripedLock(4);
+        try (StripedLock.Held outer = locks.lock("a", "a", "b", "c", "d", "e")) {
+            try (StripedLock.Held inner = locks.lock("a")) {
+            }
+        }
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            // Every stripe is free again, so another thread can take them all.
+            other.submit(() -> locks.lock("a", "b", "c", "d", "e").close()).get(5, TimeUnit.SECONDS);
+        } finally {
+            other.shutdownNow();
+        }
+    }
+
+    @Test
+    void keysInOppositeOrderDoNotDeadlock() throws Exception {
+        StripedLock locks = new StripedLock(StripedLock.DEFAULT_STRIPES);
+        int rounds = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        int[] counter = { 0 };
+        Runnable forward = () -> run(start, rounds, () -> locks.lock("x", "y", "z"), counter);
+        Runnable backward = () -> run(start, rounds, () -> locks.lock("z", "y", "x"), counter);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = pool.submit(forward);
+            Future<?> b = pool.submit(backward);
+            start.countDown();
+            a.get(30, TimeUnit.SECONDS);
+            b.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        // The counter is only touched under the locks, so no increment is lost.
+        assertEquals(2 * rounds, counter[0]);
+    }
+
+    private interface Locker {
+        StripedLock.Held lock();
+    }
+
+    private static void run(CountDownLatch start, int rounds, Locker locker, int[] counter) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (int i = 0; i < rounds; i++) {
+            try (StripedLock.Held held = locker.lock()) {
+                counter[0]++;
+            }
+        }
+    }
+}
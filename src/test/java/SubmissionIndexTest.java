@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SubmissionIndexTest {
+    private static Submission submission(String presenter, String title, String sessionId) {
+        return new Submission(presenter, title, PresentationType.ORAL, sessionId, LocalDate.of(2026, 1, 15),
+                "Abstract", "Dr. Lee", "/slides.pdf");
+    }
+
+    @Test
+    void firstSubmissionForAKeyWins() {
+        SubmissionIndex index = new SubmissionIndex();
+        Submission first = submission("alice", "Crop Yields", Submission.NO_SESSION);
+        Submission again = submission("alice", "Crop Yields", Submission.NO_SESSION);
+        index.rebuild(List.of(first, again));
+        assertSame(first, index.get("alice", "Crop Yields"));
+        assertNull(index.get("alice", "Crop"));
+        assertNull(index.get("bob", "Crop Yields"));
+        assertEquals(2, index.byPresenter("alice").size());
+        assertTrue(index.byPresenter("bob").isEmpty());
+    }
+
+    // "ab" + "c" and "a" + "bc" are different keys.
+    @Test
+    void keysDoNotRunTogether() {
+        SubmissionIndex index = new SubmissionIndex();
+        Submission abc = submission("ab", "c", Submission.NO_SESSION);
+        index.add(abc);
+        assertNull(index.get("a", "bc"));
+        assertSame(abc, index.get("ab", "c"));
+    }
+
+    @Test
+    void unscheduledSubmissionsJoinTheirSessionWhenBooked() {
+        SubmissionIndex index = new SubmissionIndex();
+        Submission booked = submission("alice", "Crop Yields", "S001");
+        Submission waiting = submission("bob", "Soil Maps", Submission.NO_SESSION);
+        index.add(booked);
+        index.add(waiting);
+        assertEquals(List.of(booked), List.copyOf(index.bySession("S001")));
+        assertTrue(index.bySession(Submission.NO_SESSION).isEmpty());
+
+        waiting.setSession("S002");
+        index.scheduled(waiting);
+        assertEquals(List.of(waiting), List.copyOf(index.bySession("S002")));
+    }
+
+    @Test
+    void statusChangesMoveBetweenStatusSets() {
+        SubmissionIndex index = new SubmissionIndex();
+        Submission sub = submission("alice", "Crop Yields", "S001");
+        index.add(sub);
+        assertTrue(index.byStatus(SubmissionStatus.PENDING).contains(sub));
+
+        sub.setGrade(new Submission.Grade(SubmissionStatus.GRADED, 80, "Good"));
+        index.statusChanged(sub, SubmissionStatus.PENDING);
+        assertTrue(index.byStatus(SubmissionStatus.PENDING).isEmpty());
+        assertTrue(index.byStatus(SubmissionStatus.GRADED).contains(sub));
+    }
+}